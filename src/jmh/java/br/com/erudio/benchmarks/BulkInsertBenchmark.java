@@ -0,0 +1,127 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.model.person.Person;
+import br.com.erudio.repositories.BulkInsertRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second inserted into person: one INSERT per row in its own transaction, as
+ * Hibernate does for an IDENTITY id behind PersonController.create, against
+ * BulkInsertRepository in one transaction with rewriteBatchedStatements. Needs a
+ * MySQL with the Flyway schema; rows are tagged and removed after each iteration:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BulkInsertBenchmark -p url=jdbc:mysql://localhost:3306/rest_with_spring_boot_erudio"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String TAG = "jmh-bulk";
+
+    @Param("jdbc:mysql://localhost:3306/rest_with_spring_boot_erudio")
+    private String url;
+
+    @Param("admin")
+    private String username;
+
+    @Param("12345678")
+    private String password;
+
+    @Param({"50", "500"})
+    private int batchSize;
+
+    private SingleConnectionDataSource singleRowDataSource;
+
+    private SingleConnectionDataSource batchDataSource;
+
+    private BulkInsertRepository bulkRepository;
+
+    private TransactionTemplate batchTransaction;
+
+    @Setup
+    public void setUp() {
+        var options = (url.contains("?") ? "&" : "?") + "serverTimezone=UTC";
+        singleRowDataSource = new SingleConnectionDataSource(url + options, username, password, true);
+        batchDataSource = new SingleConnectionDataSource(
+                url + options + "&rewriteBatchedStatements=true", username, password, true);
+
+        bulkRepository = new BulkInsertRepository();
+        ReflectionTestUtils.setField(bulkRepository, "jdbcTemplate", new JdbcTemplate(batchDataSource));
+        ReflectionTestUtils.setField(bulkRepository, "batchSize", batchSize);
+        batchTransaction = new TransactionTemplate(new DataSourceTransactionManager(batchDataSource));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteInsertedRows() {
+        new JdbcTemplate(singleRowDataSource).update("DELETE FROM person WHERE last_name = ?", TAG);
+    }
+
+    @TearDown
+    public void tearDown() {
+        singleRowDataSource.destroy();
+        batchDataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long singleRowInserts() {
+        var jdbcTemplate = new JdbcTemplate(singleRowDataSource);
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            long lastId = 0;
+            try (var ps = connection.prepareStatement(
+                    "INSERT INTO person (first_name, last_name, address, gender, enabled) VALUES (?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                for (Person person : people()) {
+                    ps.setString(1, person.getFirstName());
+                    ps.setString(2, person.getLastName());
+                    ps.setString(3, person.getAddress());
+                    ps.setString(4, person.getGender());
+                    ps.setBoolean(5, person.getEnabled());
+                    ps.executeUpdate();
+                    try (var keys = ps.getGeneratedKeys()) {
+                        if (keys.next()) lastId = keys.getLong(1);
+                    }
+                }
+            }
+            return lastId;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long bulkInsert() {
+        var people = people();
+        batchTransaction.executeWithoutResult(status -> bulkRepository.insertPeople(people));
+        return people.get(ROWS - 1).getId();
+    }
+
+    private static List<Person> people() {
+        List<Person> people = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            var person = new Person();
+            person.setFirstName("First Name " + i);
+            person.setLastName(TAG);
+            person.setAddress("Address " + i);
+            person.setGender(i % 2 == 0 ? "Male" : "Female");
+            person.setEnabled(true);
+            people.add(person);
+        }
+        return people;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.model.book.Book;
+import br.com.erudio.model.person.Person;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of mapping a large page of entities to VOs with the ModelMapper type maps
+ * DozerMapper used before, against the generated mappers it dispatches to now.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratedMapperBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private ModelMapper modelMapper;
+
+    private List<Person> people;
+
+    private List<Book> books;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.createTypeMap(Person.class, PersonVO.class).addMapping(Person::getId, PersonVO::setKey);
+        modelMapper.createTypeMap(Book.class, BookVO.class).addMapping(Book::getId, BookVO::setKey);
+
+        people = new ArrayList<>(size);
+        books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var person = new Person();
+            person.setId((long) i);
+            person.setFirstName("First Name: " + i);
+            person.setLastName("Last Name: " + i);
+            person.setAddress("Address: " + i);
+            person.setGender(i % 2 == 0 ? "Male" : "Female");
+            person.setEnabled(true);
+            people.add(person);
+
+            var book = new Book();
+            book.setId((long) i);
+            book.setAuthor("Name Author: " + i);
+            book.setTitle("Title : " + i);
+            book.setPrice((double) i);
+            book.setLaunchDate(new Date());
+            books.add(book);
+        }
+    }
+
+    @Benchmark
+    public List<PersonVO> modelMapperPeople() {
+        var result = new ArrayList<PersonVO>(people.size());
+        for (Person person : people) {
+            result.add(modelMapper.map(person, PersonVO.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<PersonVO> generatedPeople() {
+        return DozerMapper.parseListObjects(people, PersonVO.class);
+    }
+
+    @Benchmark
+    public List<BookVO> modelMapperBooks() {
+        var result = new ArrayList<BookVO>(books.size());
+        for (Book book : books) {
+            result.add(modelMapper.map(book, BookVO.class));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<BookVO> generatedBooks() {
+        return DozerMapper.parseListObjects(books, BookVO.class);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.security.jwt.JwtKeyRing;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.TokenDenyList;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of verifying a bearer token in JwtTokenFilter: the previous path,
+ * which built a new JWTVerifier and verified the token twice (validateToken and then
+ * getAuthentication), against the single pass over the pre-built verifier, with and
+ * without a kid header to look the verifier up by.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private JwtTokenProvider provider;
+
+    private Algorithm algorithm;
+
+    private String token;
+
+    private String tokenWithKeyId;
+
+    @Setup
+    public void setUp() {
+        var keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "secretKey", "53cr37");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+        var denyList = new TokenDenyList();
+        ReflectionTestUtils.invokeMethod(denyList, "init");
+
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "keyRing", keyRing);
+        ReflectionTestUtils.setField(provider, "denyList", denyList);
+
+        algorithm = Algorithm.HMAC256(Base64.getEncoder().encodeToString("53cr37".getBytes()).getBytes());
+        Date now = new Date();
+        token = JWT.create()
+                .withClaim("roles", List.of("ADMIN", "MANAGER"))
+                .withIssuedAt(now)
+                .withExpiresAt(new Date(now.getTime() + 3600000))
+                .withSubject("leandro")
+                .withIssuer("http://localhost:8888")
+                .sign(algorithm);
+        tokenWithKeyId = JWT.create()
+                .withKeyId(JwtKeyRing.DEFAULT_KEY_ID)
+                .withClaim("roles", List.of("ADMIN", "MANAGER"))
+                .withIssuedAt(now)
+                .withExpiresAt(new Date(now.getTime() + 3600000))
+                .withSubject("leandro")
+                .withIssuer("http://localhost:8888")
+                .sign(algorithm);
+    }
+
+    @Benchmark
+    public void rebuiltVerifierTwice(Blackhole blackhole) {
+        DecodedJWT validated = JWT.require(algorithm).build().verify(token);
+        blackhole.consume(!validated.getExpiresAt().before(new Date()));
+        blackhole.consume(JWT.require(algorithm).build().verify(token).getSubject());
+    }
+
+    @Benchmark
+    public DecodedJWT singlePass() {
+        return provider.verifyToken(token);
+    }
+
+    @Benchmark
+    public DecodedJWT singlePassWithKeyId() {
+        return provider.verifyToken(tokenWithKeyId);
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.mapper.custom.PersonMapper;
+import br.com.erudio.model.book.Book;
+import br.com.erudio.model.person.Person;
+import br.com.erudio.unittests.mapper.mocks.BookMock;
+import br.com.erudio.unittests.mapper.mocks.PersonMock;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the mapping layer per list: DozerMapper, a plain ModelMapper configured with
+ * the type maps DozerMapper used to have, and the hand-written PersonMapper (Person
+ * only, it has no Book counterpart), entity to VO and back, from 1 to 100k elements.
+ * Run with the GC profiler to get the allocation rate next to ops/s:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="MappingBenchmark -prof gc"
+ * parallelThreshold drives DozerMapper's parallel list mapping, 0 keeps it sequential.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"1", "100", "10000", "100000"})
+    private int size;
+
+    @Param({"0", "5000"})
+    private int parallelThreshold;
+
+    private ModelMapper modelMapper;
+
+    private PersonMapper personMapper;
+
+    private List<Person> people;
+
+    private List<PersonVO> peopleVO;
+
+    private List<PersonVOV2> peopleVOV2;
+
+    private List<Book> books;
+
+    private List<BookVO> booksVO;
+
+    @Setup
+    public void setUp() {
+        DozerMapper.configureParallelism(parallelThreshold, null);
+        modelMapper = new ModelMapper();
+        modelMapper.createTypeMap(Person.class, PersonVO.class).addMapping(Person::getId, PersonVO::setKey);
+        modelMapper.createTypeMap(PersonVO.class, Person.class).addMapping(PersonVO::getKey, Person::setId);
+        modelMapper.createTypeMap(Book.class, BookVO.class).addMapping(Book::getId, BookVO::setKey);
+        modelMapper.createTypeMap(BookVO.class, Book.class).addMapping(BookVO::getKey, Book::setId);
+        personMapper = new PersonMapper();
+
+        var personMock = new PersonMock();
+        var bookMock = new BookMock();
+        people = new ArrayList<>(size);
+        peopleVO = new ArrayList<>(size);
+        peopleVOV2 = new ArrayList<>(size);
+        books = new ArrayList<>(size);
+        booksVO = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            people.add(personMock.mockEntity(i));
+            peopleVO.add(personMock.mockVO(i));
+            peopleVOV2.add(personMapper.convertEntityToVO(people.get(i)));
+            books.add(bookMock.mockEntity(i));
+            booksVO.add(bookMock.mockVO(i));
+        }
+    }
+
+    @Benchmark
+    public List<PersonVO> personEntityToVO() {
+        return DozerMapper.parseListObjects(people, PersonVO.class);
+    }
+
+    @Benchmark
+    public List<Person> personVOToEntity() {
+        return DozerMapper.parseListObjects(peopleVO, Person.class);
+    }
+
+    @Benchmark
+    public List<BookVO> bookEntityToVO() {
+        return DozerMapper.parseListObjects(books, BookVO.class);
+    }
+
+    @Benchmark
+    public List<Book> bookVOToEntity() {
+        return DozerMapper.parseListObjects(booksVO, Book.class);
+    }
+
+    @Benchmark
+    public List<PersonVO> personEntityToVOModelMapper() {
+        return mapWithModelMapper(people, PersonVO.class);
+    }
+
+    @Benchmark
+    public List<Person> personVOToEntityModelMapper() {
+        return mapWithModelMapper(peopleVO, Person.class);
+    }
+
+    @Benchmark
+    public List<BookVO> bookEntityToVOModelMapper() {
+        return mapWithModelMapper(books, BookVO.class);
+    }
+
+    @Benchmark
+    public List<Book> bookVOToEntityModelMapper() {
+        return mapWithModelMapper(booksVO, Book.class);
+    }
+
+    @Benchmark
+    public List<PersonVOV2> personEntityToVOPersonMapper() {
+        var result = new ArrayList<PersonVOV2>(people.size());
+        for (Person person : people) {
+            result.add(personMapper.convertEntityToVO(person));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Person> personVOToEntityPersonMapper() {
+        var result = new ArrayList<Person>(peopleVOV2.size());
+        for (PersonVOV2 vo : peopleVOV2) {
+            result.add(personMapper.convertVOToEntity(vo));
+        }
+        return result;
+    }
+
+    @TearDown
+    public void tearDown() {
+        DozerMapper.configureParallelism(0, null);
+    }
+
+    private <O, D> List<D> mapWithModelMapper(List<O> origin, Class<D> destination) {
+        var result = new ArrayList<D>(origin.size());
+        for (O o : origin) {
+            result.add(modelMapper.map(o, destination));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.data.vo.v1.PersonPagedModel;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.PersonPageHalHttpMessageConverter;
+import br.com.erudio.unittests.mapper.mocks.PersonMock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and writing one HAL page of people: the assembler plus the HAL
+ * object mapper, as PersonService used to answer, against PersonPagedModel written
+ * by PersonPageHalHttpMessageConverter. Both write the same bytes. Run with the GC
+ * profiler to compare allocations per page:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PagedModelSerializationBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PagedModelSerializationBenchmark {
+
+    @Param({"12", "100", "1000"})
+    private int pageSize;
+
+    private ObjectMapper halMapper;
+
+    private PersonPageHalHttpMessageConverter converter;
+
+    private PagedResourcesAssembler<PersonVO> assembler;
+
+    private Page<PersonVO> page;
+
+    private Link self;
+
+    private Output output;
+
+    @Setup
+    public void setUp() {
+        halMapper = Jackson2ObjectMapperBuilder.json().build();
+        halMapper.registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        var json = new MappingJackson2HttpMessageConverter();
+        json.registerObjectMappersForType(RepresentationModel.class, mappers -> {
+            mappers.put(MediaTypes.HAL_JSON, halMapper);
+            mappers.put(MediaType.APPLICATION_JSON, halMapper);
+        });
+        converter = new PersonPageHalHttpMessageConverter(json, "personVOList");
+        assembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
+        var mock = new PersonMock();
+        List<PersonVO> people = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            var person = mock.mockVO(pageSize + i);
+            person.add(Link.of("http://localhost:8080/api/person/v1/" + person.getKey()));
+            people.add(person);
+        }
+        var pageable = PageRequest.of(1, pageSize);
+        page = new PageImpl<>(people, pageable, pageSize * 10L);
+        self = Link.of("http://localhost:8080/api/person/v1?page=1&size=" + pageSize + "&direction=asc");
+        output = new Output();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public int pagedModel() throws IOException {
+        output.reset();
+        halMapper.writeValue(output.getBody(), assembler.toModel(page, self));
+        return output.body.size();
+    }
+
+    @Benchmark
+    public int personPagedModel() throws IOException {
+        output.reset();
+        var pageLinks = assembler.toModel(
+                new PageImpl<>(List.of(), page.getPageable(), page.getTotalElements()), self);
+        converter.write(new PersonPagedModel(page.getContent(), pageLinks.getMetadata(), pageLinks.getLinks()),
+                MediaType.APPLICATION_JSON, output);
+        return output.body.size();
+    }
+
+    private static class Output implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers.clear();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
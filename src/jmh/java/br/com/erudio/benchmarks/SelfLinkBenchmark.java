@@ -0,0 +1,51 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.util.LinkFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Cost of one VO self link inside a request: WebMvcLinkBuilder through a controller
+ * proxy against the cached prefix of LinkFactory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SelfLinkBenchmark {
+
+    private long id;
+
+    @Setup
+    public void setUp() {
+        var request = new MockHttpServletRequest();
+        request.setServerPort(8888);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Link webMvcLinkBuilder() {
+        return linkTo(methodOn(PersonController.class).findById(++id)).withSelfRel();
+    }
+
+    @Benchmark
+    public Link linkFactory() {
+        return LinkFactory.selfLink(PersonController.class, ++id);
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.model.permission.Permission;
+import br.com.erudio.repositories.PermissionRepository;
+import br.com.erudio.security.jwt.AuthenticationMode;
+import br.com.erudio.security.jwt.JwtKeyRing;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.RoleBitmaskCodec;
+import br.com.erudio.security.jwt.TokenDenyList;
+import br.com.erudio.security.jwt.TokenProfile;
+import br.com.erudio.security.permission.PermissionRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size of the Authorization header and cost of issuing and parsing an access token
+ * for the standard and the compact token profiles. Header sizes are printed on setup;
+ * parsing runs in claims mode so it covers decoding the authorities too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProfileBenchmark {
+
+    private static final List<String> ROLES = List.of("ADMIN", "MANAGER", "COMMON_USER");
+
+    @Param({"STANDARD", "COMPACT"})
+    private TokenProfile profile;
+
+    private JwtTokenProvider provider;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var request = new MockHttpServletRequest();
+        request.setServerPort(8888);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        var repository = Mockito.mock(PermissionRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(permissions());
+        var registry = new PermissionRegistry();
+        ReflectionTestUtils.setField(registry, "repository", repository);
+        var roleCodec = new RoleBitmaskCodec();
+        ReflectionTestUtils.setField(roleCodec, "permissionRegistry", registry);
+
+        var denyList = new TokenDenyList();
+        ReflectionTestUtils.invokeMethod(denyList, "init");
+
+        var keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "secretKey", "53cr37");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+
+        provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "keyRing", keyRing);
+        ReflectionTestUtils.setField(provider, "tokenProfile", profile);
+        ReflectionTestUtils.setField(provider, "authenticationMode", AuthenticationMode.CLAIMS);
+        ReflectionTestUtils.setField(provider, "roleCodec", roleCodec);
+        ReflectionTestUtils.setField(provider, "denyList", denyList);
+
+        var tokens = provider.createAccessToken("leandro", ROLES);
+        token = tokens.getAccessToken();
+        System.out.printf("%n%s Authorization header: access %d bytes, refresh %d bytes%n", profile,
+                ("Bearer " + tokens.getAccessToken()).length(), ("Bearer " + tokens.getRefreshToken()).length());
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String issue() {
+        return provider.createAccessToken("leandro", ROLES).getAccessToken();
+    }
+
+    @Benchmark
+    public Authentication parse() {
+        return provider.getAuthentication(provider.verifyToken(token));
+    }
+
+    private static List<Permission> permissions() {
+        var permissions = new ArrayList<Permission>();
+        for (int i = 0; i < ROLES.size(); i++) {
+            var permission = new Permission();
+            permission.setId((long) i + 1);
+            permission.setDescription(ROLES.get(i));
+            permissions.add(permission);
+        }
+        return permissions;
+    }
+}
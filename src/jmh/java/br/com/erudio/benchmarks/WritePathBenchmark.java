@@ -0,0 +1,151 @@
+package br.com.erudio.benchmarks;
+
+import br.com.erudio.Startup;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.person.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and JDBC statements per call of PersonService.update and delete, against the
+ * read-modify-write they replaced (findById, then save or delete, each in its own
+ * repository transaction). Boots the application against a MySQL with the Flyway
+ * schema and counts prepared statements through Hibernate statistics; the statements
+ * and calls counters give the statements per call:
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="WritePathBenchmark -p url=jdbc:mysql://localhost:3306/rest_with_spring_boot_erudio"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WritePathBenchmark {
+
+    private static final String TAG = "jmh-write-path";
+
+    @Param("jdbc:mysql://localhost:3306/rest_with_spring_boot_erudio")
+    private String url;
+
+    @Param("admin")
+    private String username;
+
+    @Param("12345678")
+    private String password;
+
+    private ConfigurableApplicationContext context;
+
+    private PersonService service;
+
+    private PersonRepository repository;
+
+    private Statistics statistics;
+
+    private long id;
+
+    private long deletableId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Startup.class).properties(
+                "server.port=0",
+                "spring.datasource.url=" + url + (url.contains("?") ? "&" : "?") + "serverTimezone=UTC",
+                "spring.datasource.username=" + username,
+                "spring.datasource.password=" + password,
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                // keep scheduled reads out of the counted statements
+                "person.count-cache.refresh-interval=86400000",
+                "security.permission-registry.refresh-interval=86400000").run();
+        service = context.getBean(PersonService.class);
+        repository = context.getBean(PersonRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        id = repository.save(person()).getId();
+    }
+
+    @Setup(Level.Invocation)
+    public void insertDeletable() {
+        deletableId = repository.save(person()).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.findAll().stream()
+                .filter(p -> TAG.equals(p.getLastName()))
+                .forEach(repository::delete);
+        context.close();
+    }
+
+    @Benchmark
+    public Object updateBefore(Counters counters) {
+        long before = statistics.getPrepareStatementCount();
+        var entity = repository.findById(id).orElseThrow();
+        entity.setFirstName("First Name");
+        entity.setLastName(TAG);
+        entity.setAddress("Address");
+        entity.setGender("Male");
+        var saved = repository.save(entity);
+        counters.count(statistics.getPrepareStatementCount() - before);
+        return saved;
+    }
+
+    @Benchmark
+    public PersonVO updateAfter(Counters counters) {
+        long before = statistics.getPrepareStatementCount();
+        var vo = new PersonVO(id, "First Name", TAG, "Address", "Male", true);
+        var updated = service.update(vo);
+        counters.count(statistics.getPrepareStatementCount() - before);
+        return updated;
+    }
+
+    @Benchmark
+    public void deleteBefore(Counters counters) {
+        long before = statistics.getPrepareStatementCount();
+        repository.delete(repository.findById(deletableId).orElseThrow());
+        counters.count(statistics.getPrepareStatementCount() - before);
+    }
+
+    @Benchmark
+    public void deleteAfter(Counters counters) {
+        long before = statistics.getPrepareStatementCount();
+        service.delete(deletableId);
+        counters.count(statistics.getPrepareStatementCount() - before);
+    }
+
+    private static Person person() {
+        var person = new Person();
+        person.setFirstName("First Name");
+        person.setLastName(TAG);
+        person.setAddress("Address");
+        person.setGender("Male");
+        person.setEnabled(true);
+        return person;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long statements;
+
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            calls = 0;
+        }
+
+        void count(long statementsOfCall) {
+            statements += statementsOfCall;
+            calls++;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.erudio.config;
+
+import br.com.erudio.mapper.DozerMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Applies the parallel list mapping settings to the static {@link DozerMapper}. Lists with
+ * at least mapper.parallel.threshold elements are mapped in chunks on a dedicated
+ * fork-join pool of mapper.parallel.parallelism threads, or on the common pool when it
+ * is 0. A threshold of 0 keeps every list on the sequential path.
+ */
+@Configuration
+public class MapperConfig {
+
+    @Value("${mapper.parallel.threshold:5000}")
+    private int threshold = 5000;
+
+    @Value("${mapper.parallel.parallelism:0}")
+    private int parallelism = 0;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    protected void init() {
+        pool = parallelism > 0 ? new ForkJoinPool(parallelism) : null;
+        DozerMapper.configureParallelism(threshold, pool);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        DozerMapper.configureParallelism(0, null);
+        if (pool != null) pool.shutdown();
+    }
+}
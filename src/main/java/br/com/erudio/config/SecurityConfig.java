@@ -2,7 +2,11 @@ package br.com.erudio.config;
 
 import br.com.erudio.security.jwt.JwtTokenFilter;
 import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.VerifiedTokenCache;
+import br.com.erudio.security.password.CalibratedPasswordEncoder;
+import br.com.erudio.security.password.Pbkdf2Calibrator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,15 +14,10 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @EnableWebSecurity
 @Configuration
 public class SecurityConfig  {
@@ -26,25 +25,31 @@ public class SecurityConfig  {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private VerifiedTokenCache tokenCache;
 
-    @Bean
-    PasswordEncoder passwordEncoder() {
+    @Value("${security.password.pbkdf2.iterations:0}")
+    private int pbkdf2Iterations;
 
-        Pbkdf2PasswordEncoder pbkdf2PasswordEncoder = new Pbkdf2PasswordEncoder("", 8, 185000,
-                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    @Value("${security.password.pbkdf2.target-millis:200}")
+    private long pbkdf2TargetMillis = 200;
 
-        Map<String, PasswordEncoder> encoders = new HashMap<>();
+    @Value("${security.password.pbkdf2.min-iterations:185000}")
+    private int pbkdf2MinIterations = CalibratedPasswordEncoder.LEGACY_ITERATIONS;
 
-        encoders.put("pbkdf2", pbkdf2PasswordEncoder);
+    @Value("${security.password.pbkdf2.max-iterations:2000000}")
+    private int pbkdf2MaxIterations = 2000000;
 
-        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("pbkdf2", encoders);
-        passwordEncoder.setDefaultPasswordEncoderForMatches(pbkdf2PasswordEncoder);
-        return passwordEncoder;
+    @Bean
+    PasswordEncoder passwordEncoder() {
+        int iterations = pbkdf2Iterations > 0 ? pbkdf2Iterations
+                : Pbkdf2Calibrator.calibrate(pbkdf2TargetMillis, pbkdf2MinIterations, pbkdf2MaxIterations);
+        return new CalibratedPasswordEncoder(iterations);
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        JwtTokenFilter tokenFilter = new JwtTokenFilter(tokenProvider);
+        JwtTokenFilter tokenFilter = new JwtTokenFilter(tokenProvider, tokenCache);
         return http
                 .httpBasic(basic -> basic.disable())
                 .csrf(csrf -> csrf.disable())
@@ -60,6 +65,7 @@ public class SecurityConfig  {
                                         "/v3/api-docs/**"
                                 ).permitAll()
                                 .requestMatchers("/api/**").authenticated()
+                                .requestMatchers("/actuator/metrics/**").authenticated()
                                 .requestMatchers("/users").denyAll()
                 )
                 .cors(cors -> {})
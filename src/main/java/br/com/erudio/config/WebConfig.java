@@ -1,10 +1,19 @@
 package br.com.erudio.config;
 
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.PersonPageHalHttpMessageConverter;
+import br.com.erudio.serialization.converter.StreamedResponseHttpMessageConverter;
 import br.com.erudio.serialization.converter.YamlJackson2HttpMessageConverte;
+import br.com.erudio.util.AsyncRequestTimeout;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.hateoas.server.LinkRelationProvider;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -17,6 +26,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${cors.originPatterns:default}")
     private String corsOriginPatterns = "";
 
+    @Autowired(required = false)
+    private LinkRelationProvider linkRelationProvider = new DefaultLinkRelationProvider();
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         var allowedOrigins = corsOriginPatterns.split(",");
@@ -51,8 +63,20 @@ public class WebConfig implements WebMvcConfigurer {
 
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncRequestTimeout());
+    }
+
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
         converters.add(new YamlJackson2HttpMessageConverte());
+        converters.stream()
+                .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                .map(MappingJackson2HttpMessageConverter.class::cast)
+                .findFirst()
+                .ifPresent(json -> converters.add(0, new PersonPageHalHttpMessageConverter(json,
+                        linkRelationProvider.getCollectionResourceRelFor(PersonVO.class).value())));
+        converters.add(0, new StreamedResponseHttpMessageConverter(converters));
     }
 }
@@ -1,14 +1,21 @@
 package br.com.erudio.controllers;
 
 import br.com.erudio.data.vo.v1.AccountCredentialsVO;
+import br.com.erudio.execeptions.TooManyRequestsException;
+import br.com.erudio.security.jwt.JwtTokenFilter;
+import br.com.erudio.security.ratelimit.AuthRateLimiter;
 import br.com.erudio.services.AuthService;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Authentication Endpoint")
 @RestController
 @RequestMapping("/auth")
@@ -17,28 +24,43 @@ public class AuthController {
     @Autowired
     AuthService authService;
 
+    @Autowired
+    AuthRateLimiter rateLimiter;
+
     @SuppressWarnings("rawtypes")
     @Operation(summary = "Authenticates a user and returns a token")
     @PostMapping(value = "/signin")
-    public ResponseEntity signin(@RequestBody AccountCredentialsVO data) {
-        if (checkIfParamIsNotNull(data)) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!");
-        var token = authService.signin(data);
-        if (token == null) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!");
-        return token;
+    public CompletableFuture<ResponseEntity> signin(@RequestBody AccountCredentialsVO data, HttpServletRequest request) {
+        if (checkIfParamIsNotNull(data))
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!"));
+        checkRateLimit(request, data.getUsername());
+        return authService.signin(data).thenApply(token -> {
+            if (token == null) return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!");
+            return token;
+        });
     }
 
     @SuppressWarnings("rawtypes")
     @Operation(summary = "Refresh token for authenticated user and returns a token")
     @PutMapping(value = "/refresh/{username}")
     public ResponseEntity refreshToken(@PathVariable("username") String username,
-                                       @RequestHeader("Authorization") String refreshToken) {
+                                       @RequestHeader("Authorization") String refreshToken,
+                                       @RequestAttribute(name = JwtTokenFilter.DECODED_JWT_ATTRIBUTE, required = false)
+                                       DecodedJWT decodedRefreshToken,
+                                       HttpServletRequest request) {
         if (checkIfParamIsNotNull(username, refreshToken))
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!");
-        var token = authService.refreshToken(username, refreshToken);
+        checkRateLimit(request, username);
+        var token = authService.refreshToken(username, refreshToken, decodedRefreshToken);
         if (token == null) return  ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request!");
         return token;
     }
 
+    private void checkRateLimit(HttpServletRequest request, String username) {
+        if (!rateLimiter.tryAcquire(request.getRemoteAddr(), username))
+            throw new TooManyRequestsException("Too many authentication attempts, try again later!");
+    }
+
     private boolean checkIfParamIsNotNull(String username, String refreshToken) {
         return refreshToken == null || refreshToken.isBlank() ||
                 username == null || username.isBlank();
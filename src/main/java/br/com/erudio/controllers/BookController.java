@@ -1,9 +1,12 @@
 package br.com.erudio.controllers;
 
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.LeanPageVO;
+import br.com.erudio.serialization.StreamedResponse;
 import br.com.erudio.services.BookService;
 import br.com.erudio.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
+
 @RestController
 @RequestMapping("api/books/v1")
 public class BookController {
@@ -40,6 +44,26 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(bookVOCreated);
     }
 
+    @PostMapping(value = "/bulk",
+                 produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML},
+                 consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
+    @Operation(summary = "Adds many Books at once by passing in a JSON, XML or YML list of books!",
+            tags = {"Books"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "201", content =
+                    @Content(
+                        mediaType = "application/json",
+                        array = @ArraySchema(schema = @Schema(implementation = BookVO.class))
+                    )),
+                    @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<List<BookVO>> createBooks(@RequestBody List<BookVO> books) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.createAll(books));
+    }
+
     @GetMapping(value = "/{id}",
                 produces = {MediaType.APPLICATION_YML, MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML})
     @Operation(summary = "Find a Book", description = "Find a Book",
@@ -75,8 +99,29 @@ public class BookController {
                 @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             }
     )
-    public List<BookVO> findAll(){
-        return service.findAll();
+    public StreamedResponse<BookVO> findAll(){
+        return service::findAll;
+    }
+
+    @GetMapping(params = "view=lean",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML})
+    @Operation(summary = "Finds all books without links", description = "Finds all Books as a plain array with paging metadata, selected with view=lean",
+            tags = {"Books"},
+            responses = {
+                @ApiResponse(description = "Success", responseCode = "200", content = @Content),
+                @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public LeanPageVO<BookVO> findAllLean(){
+        return service.findAllLean();
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_LEAN)
+    @Operation(summary = "Finds all books without links", description = "Finds all Books as a plain array with paging metadata, selected with the lean media type",
+            tags = {"Books"})
+    public LeanPageVO<BookVO> findAllLeanMediaType(){
+        return service.findAllLean();
     }
 
     @PutMapping(produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
@@ -1,8 +1,13 @@
 package br.com.erudio.controllers;
 
+import br.com.erudio.data.vo.v1.BulkResultVO;
+import br.com.erudio.data.vo.v1.IdSetVO;
+import br.com.erudio.data.vo.v1.LeanPageVO;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.data.vo.v2.PersonVOV2;
 import br.com.erudio.services.PersonService;
+import br.com.erudio.util.AcceptEncoding;
+import br.com.erudio.util.AsyncRequestTimeout;
 import br.com.erudio.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,16 +15,24 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/person/v1")
@@ -29,6 +42,9 @@ public class PersonController {
     @Autowired
     private PersonService personService;
 
+    @Value("${person.export.timeout:600000}")
+    private long exportTimeoutInMilliseconds = 600000;
+
     @CrossOrigin(origins = "http://localhost:8080")
     @GetMapping(value = "/{id}",
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
@@ -51,7 +67,7 @@ public class PersonController {
     }
 
     @GetMapping(produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
-    @Operation(summary = "Finds all People", description = "Finds all People",
+    @Operation(summary = "Finds all People", description = "Finds all People, with page totals from a periodically refreshed count unless exact=true is passed",
             tags = {"People"},
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200", content =
@@ -66,6 +82,30 @@ public class PersonController {
             }
     )
     public ResponseEntity<PagedModel<EntityModel<PersonVO>>> findAll(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "limit", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction,
+            @RequestParam(value = "exact", required = false) Boolean exact
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction)
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
+        return ResponseEntity.ok(personService.findAll(pageable, Boolean.TRUE.equals(exact)));
+    }
+
+    @GetMapping(params = "view=lean",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
+    @Operation(summary = "Finds all People without links", description = "Finds all People as a plain array with paging metadata, selected with view=lean",
+            tags = {"People"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+            }
+    )
+    public ResponseEntity<LeanPageVO<PersonVO>> findAllLean(
             @RequestParam(value = "page", defaultValue = "0") Integer page,
             @RequestParam(value = "limit", defaultValue = "12") Integer size,
             @RequestParam(value = "direction", defaultValue = "asc") String direction
@@ -74,7 +114,70 @@ public class PersonController {
                 ? Sort.Direction.DESC : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
-        return ResponseEntity.ok(personService.findAll(pageable));
+        return ResponseEntity.ok(personService.findAllLean(pageable));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_LEAN)
+    @Operation(summary = "Finds all People without links", description = "Finds all People as a plain array with paging metadata, selected with the lean media type",
+            tags = {"People"})
+    public ResponseEntity<LeanPageVO<PersonVO>> findAllLeanMediaType(
+            @RequestParam(value = "page", defaultValue = "0") Integer page,
+            @RequestParam(value = "limit", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        return findAllLean(page, size, direction);
+    }
+
+    @GetMapping(params = "cursor",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
+    @Operation(summary = "Finds People from a cursor", description = "Finds People ordered by first name with keyset pagination, pass an empty cursor for the first page and follow the prev and next links",
+            tags = {"People"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+            }
+    )
+    public ResponseEntity<CollectionModel<PersonVO>> findAllByCursor(
+            @RequestParam(value = "cursor") String cursor,
+            @RequestParam(value = "limit", defaultValue = "12") Integer size,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        var sortDirection = "desc".equalsIgnoreCase(direction)
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return ResponseEntity.ok(personService.findAllByCursor(cursor, size, sortDirection));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON)
+    @Operation(summary = "Exports all People", description = "Streams every person as newline-delimited JSON, optionally filtered by enabled and gzip encoded when the client accepts it",
+            tags = {"People"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content = @Content),
+                    @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
+            }
+    )
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "enabled", required = false) Boolean enabled,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletRequest request
+    ) {
+        AsyncRequestTimeout.set(request, exportTimeoutInMilliseconds);
+        var gzip = AcceptEncoding.accepts(acceptEncoding, "gzip");
+        var response = ResponseEntity.ok()
+                .contentType(org.springframework.http.MediaType.parseMediaType(MediaType.APPLICATION_NDJSON))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(out -> personService.export(enabled, out));
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    var gzipOut = new GZIPOutputStream(out, 8192);
+                    personService.export(enabled, gzipOut);
+                    gzipOut.finish();
+                });
     }
 
     @CrossOrigin({"http://localhost:8080", "https://erudio.com.br"})
@@ -98,6 +201,26 @@ public class PersonController {
         return ResponseEntity.status(HttpStatus.CREATED).body(personCreated);
     }
 
+    @PostMapping(value = "/bulk",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
+    @Operation(summary = "Adds many People at once by passing in a JSON, XML or YML list of people!",
+            tags = {"People"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "201", content =
+                    @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+                    )),
+                    @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public ResponseEntity<List<PersonVO>> createAll(@RequestBody List<PersonVO> people) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(personService.createAll(people));
+    }
+
     @PostMapping(value = "v2",
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
             consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
@@ -147,6 +270,27 @@ public class PersonController {
         return personService.disablePerson(id);
     }
 
+    @PatchMapping(value = "/bulk",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
+    @Operation(summary = "Disables many People at once by a list of IDs and/or ID ranges",
+            description = "Disables many People at once and reports the IDs that were disabled and the ones not found",
+            tags = {"People"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content =
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkResultVO.class)
+                    )),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public BulkResultVO disableAll(@RequestBody IdSetVO ids) {
+        return personService.disableAll(ids);
+    }
+
     @DeleteMapping(value = "/{id}")
     @Operation(summary = "Delete a People", description = "Delete a People",
             tags = {"People"},
@@ -162,4 +306,25 @@ public class PersonController {
         personService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @DeleteMapping(value = "/bulk",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
+    @Operation(summary = "Deletes many People at once by a list of IDs and/or ID ranges",
+            description = "Deletes many People at once and reports the IDs that were deleted and the ones not found",
+            tags = {"People"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content =
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BulkResultVO.class)
+                    )),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Not Unauthorized", responseCode = "401", content = @Content),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            }
+    )
+    public BulkResultVO deleteAll(@RequestBody IdSetVO ids) {
+        return personService.deleteAll(ids);
+    }
 }
\ No newline at end of file
@@ -20,6 +20,14 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable
 
     public BookVO(){}
 
+    public BookVO(Long key, String author, Date launchDate, Double price, String title) {
+        this.key = key;
+        this.author = author;
+        this.launchDate = launchDate;
+        this.price = price;
+        this.title = title;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,10 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Outcome of a bulk operation: the ids it was applied to and the requested ids that
+ * did not exist, both in ascending order.
+ */
+public record BulkResultVO(List<Long> affectedIds, List<Long> missingIds) implements Serializable {}
@@ -0,0 +1,12 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Ids targeted by a bulk operation, as a plain list, as inclusive ranges, or both.
+ */
+public record IdSetVO(List<Long> ids, List<IdRange> ranges) implements Serializable {
+
+    public record IdRange(Long from, Long to) implements Serializable {}
+}
@@ -0,0 +1,47 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.springframework.data.domain.Page;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Lean representation of a page: the items as a plain array, without hypermedia links,
+ * followed by the paging metadata.
+ */
+@JsonPropertyOrder({"content", "page"})
+public class LeanPageVO<T> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonIgnoreProperties({"links", "_links"})
+    private final List<T> content;
+
+    private final PageMetadata page;
+
+    public LeanPageVO(List<T> content, PageMetadata page) {
+        this.content = content;
+        this.page = page;
+    }
+
+    public static <T> LeanPageVO<T> of(Page<T> page) {
+        return new LeanPageVO<>(page.getContent(),
+                new PageMetadata(page.getSize(), page.getTotalElements(), page.getTotalPages(), page.getNumber()));
+    }
+
+    public static <T> LeanPageVO<T> of(List<T> content) {
+        return new LeanPageVO<>(content, new PageMetadata(content.size(), content.size(), content.isEmpty() ? 0 : 1, 0));
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public PageMetadata getPage() {
+        return page;
+    }
+
+    @JsonPropertyOrder({"size", "totalElements", "totalPages", "number"})
+    public record PageMetadata(long size, long totalElements, long totalPages, long number) implements Serializable {}
+}
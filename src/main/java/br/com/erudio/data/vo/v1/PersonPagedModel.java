@@ -0,0 +1,67 @@
+package br.com.erudio.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonRootName;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Page of people that keeps the plain {@link PersonVO} list instead of one
+ * {@link EntityModel} per item. The JSON converter writes it straight from
+ * {@link #people()}; any other serializer sees a regular {@link PagedModel}
+ * whose items are wrapped on access.
+ */
+@JsonRootName("PagedModel")
+public class PersonPagedModel extends PagedModel<EntityModel<PersonVO>> {
+
+    private final List<PersonVO> people;
+
+    public PersonPagedModel(List<PersonVO> people, PageMetadata metadata, Iterable<Link> links) {
+        super(List.of(), metadata, links);
+        this.people = people;
+    }
+
+    public List<PersonVO> people() {
+        return people;
+    }
+
+    @Override
+    public Collection<EntityModel<PersonVO>> getContent() {
+        return new AbstractList<>() {
+            @Override
+            public EntityModel<PersonVO> get(int index) {
+                return EntityModel.of(people.get(index));
+            }
+
+            @Override
+            public int size() {
+                return people.size();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<EntityModel<PersonVO>> iterator() {
+        return getContent().iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        PersonPagedModel that = (PersonPagedModel) o;
+        return Objects.equals(people, that.people);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), people);
+    }
+}
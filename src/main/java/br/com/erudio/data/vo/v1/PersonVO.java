@@ -22,6 +22,15 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 
     public PersonVO() {}
 
+    public PersonVO(Long key, String firstName, String lastName, String address, String gender, Boolean enabled) {
+        this.key = key;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.address = address;
+        this.gender = gender;
+        this.enabled = enabled;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,13 @@
+package br.com.erudio.execeptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+    private static final long serialVersionUID = 1l;
+
+    public InvalidCursorException() {
+        super("Invalid pagination cursor!");
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.erudio.execeptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1l;
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.erudio.execeptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+    private static final long serialVersionUID = 1l;
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
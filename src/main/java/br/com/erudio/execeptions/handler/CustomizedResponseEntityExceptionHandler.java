@@ -1,9 +1,13 @@
 package br.com.erudio.execeptions.handler;
 
 import br.com.erudio.execeptions.ExceptionResponse;
+import br.com.erudio.execeptions.InvalidBulkRequestException;
+import br.com.erudio.execeptions.InvalidCursorException;
 import br.com.erudio.execeptions.InvalidJwtAuthenticationException;
 import br.com.erudio.execeptions.RequiredObjectIsNotNullException;
 import br.com.erudio.execeptions.ResourceNotFoundException;
+import br.com.erudio.execeptions.ServiceUnavailableException;
+import br.com.erudio.execeptions.TooManyRequestsException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -36,7 +40,8 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
     }
 
-    @ExceptionHandler(RequiredObjectIsNotNullException.class)
+    @ExceptionHandler({RequiredObjectIsNotNullException.class, InvalidCursorException.class,
+            InvalidBulkRequestException.class})
     public final ResponseEntity<ExceptionResponse> handleBadRequestExceptions(Exception ex, WebRequest request) {
         ExceptionResponse exceptionResponse  = new ExceptionResponse(
                 new Date(),
@@ -54,4 +59,22 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(exceptionResponse, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public final ResponseEntity<ExceptionResponse> handleServiceUnavailableException(Exception ex, WebRequest request) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public final ResponseEntity<ExceptionResponse> handleTooManyRequestsException(Exception ex, WebRequest request) {
+        ExceptionResponse exceptionResponse = new ExceptionResponse(
+                new Date(),
+                ex.getMessage(),
+                request.getDescription(false));
+        return new ResponseEntity<>(exceptionResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
 }
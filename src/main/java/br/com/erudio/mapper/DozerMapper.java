@@ -9,7 +9,12 @@ import br.com.erudio.model.person.Person;
 import org.modelmapper.ModelMapper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
 
 public class DozerMapper {
 
@@ -35,16 +40,91 @@ public class DozerMapper {
         ).addMapping(BookVO::getKey, Book::setId);
     }
 
+    // generated mappers by destination type, ModelMapper handles anything else
+    private static final Map<Class<?>, Converter> converters = Map.of(
+            PersonVO.class, new Converter(Person.class, o -> VOMapper.INSTANCE.toPersonVO((Person) o)),
+            Person.class, new Converter(PersonVO.class, o -> VOMapper.INSTANCE.toPerson((PersonVO) o)),
+            BookVO.class, new Converter(Book.class, o -> VOMapper.INSTANCE.toBookVO((Book) o)),
+            Book.class, new Converter(BookVO.class, o -> VOMapper.INSTANCE.toBook((BookVO) o))
+    );
+
+    // lists of at least this size are mapped in chunks on the pool, see MapperConfig
+    private static volatile int parallelThreshold = Integer.MAX_VALUE;
+
+    private static volatile ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public static void configureParallelism(int threshold, ForkJoinPool forkJoinPool) {
+        parallelThreshold = threshold > 0 ? threshold : Integer.MAX_VALUE;
+        pool = forkJoinPool != null ? forkJoinPool : ForkJoinPool.commonPool();
+    }
+
     public static <O, D> D parseObject(O origin, Class<D> destination) {
-        return mapper.map(origin, destination);
+        return map(origin, destination, converters.get(destination));
     }
 
     public static <O, D> List<D> parseListObjects(List<O> origin, Class<D> destination) {
-        List<D> destinationObjects = new ArrayList<>();
+        var converter = converters.get(destination);
+        if (origin.size() >= parallelThreshold) {
+            return parseListInParallel(origin, destination, converter);
+        }
+        List<D> destinationObjects = new ArrayList<>(origin.size());
         for (O o: origin) {
-            destinationObjects.add(mapper.map(o, destination));
+            destinationObjects.add(map(o, destination, converter));
         }
         return destinationObjects;
     }
 
+    private static <O, D> List<D> parseListInParallel(List<O> origin, Class<D> destination, Converter converter) {
+        var forkJoinPool = pool;
+        // an ArrayList like the sequential path, presized so the chunks only set their slots
+        List<D> destinationObjects = new ArrayList<>(Collections.nCopies(origin.size(), null));
+        int chunkSize = Math.max(1, origin.size() / (forkJoinPool.getParallelism() * 4));
+        forkJoinPool.invoke(new MapChunk<>(origin, destination, converter, destinationObjects, 0, origin.size(), chunkSize));
+        return destinationObjects;
+    }
+
+    private static <O, D> D map(O origin, Class<D> destination, Converter converter) {
+        if (converter != null && converter.source().isInstance(origin)) {
+            return destination.cast(converter.function().apply(origin));
+        }
+        return mapper.map(origin, destination);
+    }
+
+    /** Maps origin[from, to) into the same positions of the result list, splitting in halves down to chunkSize. */
+    private static class MapChunk<O, D> extends RecursiveAction {
+
+        private final List<O> origin;
+        private final Class<D> destination;
+        private final Converter converter;
+        private final List<D> result;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        MapChunk(List<O> origin, Class<D> destination, Converter converter, List<D> result, int from, int to, int chunkSize) {
+            this.origin = origin;
+            this.destination = destination;
+            this.converter = converter;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    result.set(i, map(origin.get(i), destination, converter));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MapChunk<>(origin, destination, converter, result, from, middle, chunkSize),
+                    new MapChunk<>(origin, destination, converter, result, middle, to, chunkSize));
+        }
+    }
+
+    private record Converter(Class<?> source, Function<Object, Object> function) {}
+
 }
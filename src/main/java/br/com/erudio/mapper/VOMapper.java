@@ -0,0 +1,32 @@
+package br.com.erudio.mapper;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.book.Book;
+import br.com.erudio.model.person.Person;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Entity/VO conversions generated at compile time by MapStruct, keeping the id/key
+ * mapping of the ModelMapper type maps. Used by {@link DozerMapper}.
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface VOMapper {
+
+    VOMapper INSTANCE = Mappers.getMapper(VOMapper.class);
+
+    @Mapping(source = "id", target = "key")
+    PersonVO toPersonVO(Person person);
+
+    @Mapping(source = "key", target = "id")
+    Person toPerson(PersonVO vo);
+
+    @Mapping(source = "id", target = "key")
+    BookVO toBookVO(Book book);
+
+    @Mapping(source = "key", target = "id")
+    Book toBook(BookVO vo);
+}
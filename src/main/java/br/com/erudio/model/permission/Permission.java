@@ -1,5 +1,6 @@
 package br.com.erudio.model.permission;
 
+import br.com.erudio.services.UserCacheInvalidationListener;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 
@@ -7,6 +8,7 @@ import java.io.Serializable;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(UserCacheInvalidationListener.class)
 @Table(name = "permission")
 public class Permission implements GrantedAuthority, Serializable {
 
@@ -1,7 +1,10 @@
 package br.com.erudio.model.user;
 
 import br.com.erudio.model.permission.Permission;
+import br.com.erudio.security.permission.AuthoritySet;
+import br.com.erudio.services.UserCacheInvalidationListener;
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -12,6 +15,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(UserCacheInvalidationListener.class)
 @Table(name = "users")
 public class User implements UserDetails, Serializable {
     private static final long serialVersionUID = 1L;
@@ -41,15 +45,20 @@ public class User implements UserDetails, Serializable {
     @Column(name = "enabled")
     private Boolean enabled;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_permission", joinColumns = {@JoinColumn (name = "id_user")},
             inverseJoinColumns = {@JoinColumn(name = "id_permission")}
     )
     private List<Permission> permissions;
 
+    /** Authorities resolved from the permission registry, so the lazy association stays untouched. */
+    @Transient
+    private AuthoritySet authoritySet;
+
     public List<String> getRoles() {
+        if (authoritySet != null) return authoritySet.roles();
         List<String> roles = new ArrayList<>();
-        for(Permission permission : permissions) {
+        for(Permission permission : loadedPermissions()) {
             roles.add(permission.getDescription());
         }
         return roles;
@@ -57,7 +66,22 @@ public class User implements UserDetails, Serializable {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return this.permissions;
+        if (authoritySet != null) return authoritySet.authorities();
+        return loadedPermissions();
+    }
+
+    /**
+     * Permissions of a user whose authorities were not resolved by UserService, which
+     * every load path does. Only an association that is already in memory is used, so
+     * a missed path fails here instead of with a LazyInitializationException later on.
+     */
+    private List<Permission> loadedPermissions() {
+        if (permissions == null) return List.of();
+        if (!Hibernate.isInitialized(permissions)) {
+            throw new IllegalStateException(
+                    "Authorities of user " + userName + " were not resolved, load it through UserService!");
+        }
+        return permissions;
     }
 
     @Override
@@ -158,16 +182,24 @@ public class User implements UserDetails, Serializable {
         this.permissions = permissions;
     }
 
+    public AuthoritySet getAuthoritySet() {
+        return authoritySet;
+    }
+
+    public void setAuthoritySet(AuthoritySet authoritySet) {
+        this.authoritySet = authoritySet;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         User user = (User) o;
-        return Objects.equals(id, user.id) && Objects.equals(userName, user.userName) && Objects.equals(fullName, user.fullName) && Objects.equals(password, user.password) && Objects.equals(accountNonExpired, user.accountNonExpired) && Objects.equals(accountNonLocked, user.accountNonLocked) && Objects.equals(credentialsNonExpired, user.credentialsNonExpired) && Objects.equals(enabled, user.enabled) && Objects.equals(permissions, user.permissions);
+        return Objects.equals(id, user.id) && Objects.equals(userName, user.userName) && Objects.equals(fullName, user.fullName) && Objects.equals(password, user.password) && Objects.equals(accountNonExpired, user.accountNonExpired) && Objects.equals(accountNonLocked, user.accountNonLocked) && Objects.equals(credentialsNonExpired, user.credentialsNonExpired) && Objects.equals(enabled, user.enabled);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, userName, fullName, password, accountNonExpired, accountNonLocked, credentialsNonExpired, enabled, permissions);
+        return Objects.hash(id, userName, fullName, password, accountNonExpired, accountNonLocked, credentialsNonExpired, enabled);
     }
 }
@@ -1,9 +1,43 @@
 package br.com.erudio.repositories;
 
+import br.com.erudio.data.vo.v1.BookVO;
 import br.com.erudio.model.book.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    // Single statement writes, the affected row count tells whether the book exists
+    @Modifying
+    @Query("UPDATE Book b SET b.author = :author, b.launchDate = :launchDate, b.price = :price, b.title = :title "
+            + "WHERE b.id = :id")
+    int updateBook(@Param("id") Long id, @Param("author") String author, @Param("launchDate") Date launchDate,
+                   @Param("price") Double price, @Param("title") String title);
+
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.id = :id")
+    int deleteBook(@Param("id") Long id);
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title) FROM Book b")
+    List<BookVO> findAllProjectedBy();
+
+    // Integer.MIN_VALUE makes Connector/J stream the rows instead of buffering the result set
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title) FROM Book b")
+    Stream<BookVO> streamAllProjectedBy();
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title) FROM Book b WHERE b.id = :id")
+    Optional<BookVO> findProjectedById(@Param("id") Long id);
 }
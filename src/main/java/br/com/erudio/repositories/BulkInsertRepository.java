@@ -0,0 +1,83 @@
+package br.com.erudio.repositories;
+
+import br.com.erudio.model.book.Book;
+import br.com.erudio.model.person.Person;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Inserts people and books as JDBC batches. Both tables use AUTO_INCREMENT ids, which
+ * keeps Hibernate from batching their inserts, so rows go through a plain prepared
+ * statement instead; with rewriteBatchedStatements Connector/J sends each batch as one
+ * multi-row INSERT. Generated ids are written back to the given entities.
+ */
+@Repository
+public class BulkInsertRepository {
+
+    private static final String INSERT_PERSON =
+            "INSERT INTO person (first_name, last_name, address, gender, enabled) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_BOOK =
+            "INSERT INTO books (author, launch_date, price, title) VALUES (?, ?, ?, ?)";
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertPeople(List<Person> people) {
+        insert(INSERT_PERSON, people, (ps, person) -> {
+            ps.setString(1, person.getFirstName());
+            ps.setString(2, person.getLastName());
+            ps.setString(3, person.getAddress());
+            ps.setString(4, person.getGender());
+            ps.setObject(5, person.getEnabled());
+        }, Person::setId);
+    }
+
+    public void insertBooks(List<Book> books) {
+        insert(INSERT_BOOK, books, (ps, book) -> {
+            ps.setString(1, book.getAuthor());
+            ps.setTimestamp(2, book.getLaunchDate() == null ? null : new Timestamp(book.getLaunchDate().getTime()));
+            ps.setObject(3, book.getPrice());
+            ps.setString(4, book.getTitle());
+        }, Book::setId);
+    }
+
+    private <T> void insert(String sql, List<T> rows, Binder<T> binder, BiConsumer<T, Long> idSetter) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (var ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < rows.size(); from += batchSize) {
+                    int to = Math.min(from + batchSize, rows.size());
+                    for (int i = from; i < to; i++) {
+                        binder.bind(ps, rows.get(i));
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (var keys = ps.getGeneratedKeys()) {
+                        for (int i = from; i < to && keys.next(); i++) {
+                            idSetter.accept(rows.get(i), keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+}
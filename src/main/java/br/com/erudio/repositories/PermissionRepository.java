@@ -0,0 +1,9 @@
+package br.com.erudio.repositories;
+
+import br.com.erudio.model.permission.Permission;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PermissionRepository extends JpaRepository<Permission, Long> {
+}
@@ -1,16 +1,81 @@
 package br.com.erudio.repositories;
 
+import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.model.person.Person;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long> {
 
     @Modifying
     @Query("UPDATE Person p SET p.enabled = false WHERE p.id =:id")
     void disablePerson(@Param("id") Long id);
+
+    // Single statement writes, the affected row count tells whether the person exists
+    @Modifying
+    @Query("UPDATE Person p SET p.firstName = :firstName, p.lastName = :lastName, p.address = :address, "
+            + "p.gender = :gender WHERE p.id = :id")
+    int updatePerson(@Param("id") Long id, @Param("firstName") String firstName, @Param("lastName") String lastName,
+                     @Param("address") String address, @Param("gender") String gender);
+
+    @Modifying
+    @Query("DELETE FROM Person p WHERE p.id = :id")
+    int deletePerson(@Param("id") Long id);
+
+    // Set based bulk operations, callers keep the IN lists to a bounded size
+    @Query("SELECT p.id FROM Person p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Person p WHERE p.id BETWEEN :from AND :to")
+    List<Long> findExistingIdsBetween(@Param("from") Long from, @Param("to") Long to);
+
+    @Modifying
+    @Query("UPDATE Person p SET p.enabled = false WHERE p.id IN :ids")
+    int disablePeople(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Person p SET p.enabled = false WHERE p.id BETWEEN :from AND :to")
+    int disablePeopleBetween(@Param("from") Long from, @Param("to") Long to);
+
+    @Modifying
+    @Query("DELETE FROM Person p WHERE p.id IN :ids")
+    int deletePeople(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Person p WHERE p.id BETWEEN :from AND :to")
+    int deletePeopleBetween(@Param("from") Long from, @Param("to") Long to);
+
+    @Query(value = "SELECT new br.com.erudio.data.vo.v1.PersonVO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p",
+            countQuery = "SELECT COUNT(p) FROM Person p")
+    Page<PersonVO> findAllProjectedBy(Pageable pageable);
+
+    // Fetches size + 1 rows to tell whether there is a next page, without a count query
+    @Query("SELECT new br.com.erudio.data.vo.v1.PersonVO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p")
+    Slice<PersonVO> findAllSlicedBy(Pageable pageable);
+
+    // Keyset pages: no count query, callers pass a PageRequest of page 0 sorted by firstName and id
+    @Query("SELECT new br.com.erudio.data.vo.v1.PersonVO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p")
+    List<PersonVO> findSliceProjectedBy(Pageable pageable);
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.PersonVO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p "
+            + "WHERE p.firstName > :firstName OR (p.firstName = :firstName AND p.id > :id)")
+    List<PersonVO> findSliceProjectedAfter(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.PersonVO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p "
+            + "WHERE p.firstName < :firstName OR (p.firstName = :firstName AND p.id < :id)")
+    List<PersonVO> findSliceProjectedBefore(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.PersonVO(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled) FROM Person p WHERE p.id = :id")
+    Optional<PersonVO> findProjectedById(@Param("id") Long id);
 }
@@ -0,0 +1,47 @@
+package br.com.erudio.repositories;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+/**
+ * Reads the person table through a forward-only cursor, one row at a time. With
+ * Connector/J a fetch size of Integer.MIN_VALUE switches the statement to a
+ * streaming result set, so the driver never buffers the whole table.
+ */
+@Repository
+public class PersonStreamRepository {
+
+    private static final String SELECT_ALL =
+            "SELECT id, first_name, last_name, address, gender, enabled FROM person ORDER BY id";
+
+    private static final String SELECT_BY_ENABLED =
+            "SELECT id, first_name, last_name, address, gender, enabled FROM person WHERE enabled = ? ORDER BY id";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    protected void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Hands every row, ordered by id, to the handler. Columns are id, first_name,
+     * last_name, address, gender and enabled; a null enabled reads all people.
+     */
+    public void forEach(Boolean enabled, RowCallbackHandler handler) {
+        if (enabled == null) {
+            jdbcTemplate.query(SELECT_ALL, handler);
+        } else {
+            jdbcTemplate.query(SELECT_BY_ENABLED, handler, enabled);
+        }
+    }
+}
@@ -6,9 +6,18 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT u FROM User u WHERE u.userName = :userName")
     User findByUsername(@Param("userName") String userName);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.userName = :userName " +
+            "AND u.enabled = true AND u.accountNonLocked = true AND u.accountNonExpired = true")
+    boolean isActive(@Param("userName") String userName);
+
+    @Query(value = "SELECT id_permission FROM user_permission WHERE id_user = :id", nativeQuery = true)
+    List<Long> findPermissionIds(@Param("id") Long id);
 }
@@ -0,0 +1,48 @@
+package br.com.erudio.security.jwt;
+
+import br.com.erudio.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Short-lived view of whether an account may still use its tokens. Used by the claims
+ * authentication mode, so a disabled or locked user is rejected within the TTL without
+ * querying the users table on every request.
+ */
+@Component
+public class AccountStatusCache {
+
+    @Value("${security.jwt.token.revocation-check-ttl:30000}")
+    private long ttlInMilliseconds = 30000;
+
+    @Value("${security.jwt.token.revocation-check-max-size:10000}")
+    private long maximumSize = 10000;
+
+    @Autowired
+    private UserRepository repository;
+
+    private LoadingCache<String, Boolean> cache;
+
+    @PostConstruct
+    protected void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlInMilliseconds, 1)))
+                .build(repository::isActive);
+    }
+
+    public boolean isActive(String username) {
+        if (ttlInMilliseconds <= 0) return true;
+        return Boolean.TRUE.equals(cache.get(username));
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.erudio.security.jwt;
+
+public enum AuthenticationMode {
+    /** Loads the user through the UserDetailsService on every authenticated request. */
+    DATABASE,
+    /** Builds the principal and its authorities straight from the verified token claims. */
+    CLAIMS
+}
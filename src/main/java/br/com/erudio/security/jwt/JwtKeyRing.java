@@ -0,0 +1,145 @@
+package br.com.erudio.security.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * HMAC keys used to sign and verify tokens, identified by the kid header. One key signs,
+ * every active key verifies. A key that leaves the ring stays verifiable until the
+ * longest lived token it could have signed (a refresh token) has expired.
+ * <p>
+ * Keys come from security.jwt.token.secret-key, under the id "default", or from the
+ * optional keys file, a properties file with one {@code key.<kid>=<secret>} entry per
+ * key and {@code signing=<kid>}. The file is reloaded when it changes, so keys can be
+ * rotated without a restart. Tokens without a kid are verified with the default key.
+ */
+@Component
+public class JwtKeyRing {
+
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private final Logger logger = Logger.getLogger(JwtKeyRing.class.getName());
+
+    @Value("${security.jwt.token.secret-key:secret}")
+    private String secretKey = "secret";
+
+    @Value("${security.jwt.token.expire-length:3600000}")
+    private long validityInMilliseconds = 3600000;
+
+    @Value("${security.jwt.keys.file:}")
+    private String keysFile = "";
+
+    private final Map<String, Long> retiredAt = new HashMap<>();
+
+    private Map<String, Algorithm> activeKeys = Map.of();
+
+    private long keysFileModifiedAt;
+
+    private volatile State state;
+
+    @PostConstruct
+    protected void init() {
+        // when the keys file leaves out the default key it is retired like any other key,
+        // so tokens issued before the file was introduced stay valid until they expire
+        install(Map.of(DEFAULT_KEY_ID, algorithm(secretKey)), DEFAULT_KEY_ID);
+        readKeysFile();
+    }
+
+    public SigningKey signingKey() {
+        return state.signingKey();
+    }
+
+    /** Verifier for the given kid, or null when the key is unknown or has been retired. */
+    public JWTVerifier verifier(String keyId) {
+        return state.verifiers().get(keyId == null ? DEFAULT_KEY_ID : keyId);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.keys.reload-interval:30000}")
+    public synchronized void reload() {
+        readKeysFile();
+        purgeRetiredKeys();
+    }
+
+    private void readKeysFile() {
+        if (keysFile.isBlank()) return;
+        Path path = Path.of(keysFile);
+        try {
+            if (!Files.exists(path)) return;
+            long modifiedAt = Files.getLastModifiedTime(path).toMillis();
+            if (modifiedAt == keysFileModifiedAt) return;
+            var properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            var keys = new LinkedHashMap<String, Algorithm>();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith("key.")) keys.put(name.substring("key.".length()), algorithm(properties.getProperty(name)));
+            }
+            String signingKeyId = properties.getProperty("signing");
+            if (signingKeyId == null || !keys.containsKey(signingKeyId)) {
+                logger.warning("Ignoring JWT keys file " + keysFile + ", its signing key is not defined!");
+                return;
+            }
+            keysFileModifiedAt = modifiedAt;
+            install(keys, signingKeyId);
+            logger.info(() -> "Loaded " + keys.size() + " JWT keys, signing with " + signingKeyId + "!");
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Could not read the JWT keys file " + keysFile, e);
+        }
+    }
+
+    private synchronized void install(Map<String, Algorithm> keys, String signingKeyId) {
+        long now = System.currentTimeMillis();
+        var previous = state;
+        for (String keyId : activeKeys.keySet()) {
+            if (!keys.containsKey(keyId)) retiredAt.putIfAbsent(keyId, now);
+        }
+        keys.keySet().forEach(retiredAt::remove);
+
+        var verifiers = new HashMap<String, JWTVerifier>();
+        if (previous != null) {
+            for (String keyId : retiredAt.keySet()) {
+                var verifier = previous.verifiers().get(keyId);
+                if (verifier != null) verifiers.put(keyId, verifier);
+            }
+        }
+        keys.forEach((keyId, algorithm) -> verifiers.put(keyId, JWT.require(algorithm).build()));
+
+        activeKeys = Map.copyOf(keys);
+        state = new State(new SigningKey(signingKeyId, keys.get(signingKeyId)), Map.copyOf(verifiers));
+    }
+
+    private void purgeRetiredKeys() {
+        long expiredBefore = System.currentTimeMillis() - validityInMilliseconds * 3;
+        if (!retiredAt.values().removeIf(retired -> retired <= expiredBefore)) return;
+        var verifiers = new HashMap<>(state.verifiers());
+        verifiers.keySet().removeIf(keyId -> !activeKeys.containsKey(keyId) && !retiredAt.containsKey(keyId));
+        state = new State(state.signingKey(), Map.copyOf(verifiers));
+    }
+
+    private static Algorithm algorithm(String secret) {
+        return Algorithm.HMAC256(Base64.getEncoder().encodeToString(secret.getBytes()).getBytes());
+    }
+
+    public record SigningKey(String keyId, Algorithm algorithm) {}
+
+    private record State(SigningKey signingKey, Map<String, JWTVerifier> verifiers) {}
+}
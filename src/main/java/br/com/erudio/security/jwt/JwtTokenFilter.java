@@ -1,32 +1,49 @@
 package br.com.erudio.security.jwt;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.GenericFilterBean;
 
 import java.io.IOException;
 
 public class JwtTokenFilter extends GenericFilterBean {
+
+    /**
+     * Request attribute holding the {@link DecodedJWT} verified for the current request,
+     * read by AuthController.refreshToken so the refresh token isn't verified again.
+     */
+    public static final String DECODED_JWT_ATTRIBUTE = "br.com.erudio.security.jwt.JwtTokenFilter.DECODED_JWT";
+
     @Autowired
     private JwtTokenProvider tokenProvider;
 
-    public JwtTokenFilter(JwtTokenProvider tokenProvider) {
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    public JwtTokenFilter(JwtTokenProvider tokenProvider, VerifiedTokenCache tokenCache) {
         this.tokenProvider = tokenProvider;
+        this.tokenCache = tokenCache;
     }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         String token = tokenProvider.resolveToken((HttpServletRequest) servletRequest);
-        if(token != null && tokenProvider.validateToken(token)) {
-            Authentication auth = tokenProvider.getAuthentication(token);
-            if(auth != null) {
-                SecurityContextHolder.getContext().setAuthentication(auth);
+        if(token != null) {
+            VerifiedToken verified = tokenCache.get(token);
+            if(verified == null) {
+                DecodedJWT decodedJWT = tokenProvider.verifyToken(token);
+                verified = new VerifiedToken(decodedJWT, tokenProvider.getAuthentication(decodedJWT));
+                tokenCache.put(token, verified);
+            }
+            if(verified.authentication() != null && !tokenProvider.isRevoked(verified)) {
+                servletRequest.setAttribute(DECODED_JWT_ATTRIBUTE, verified.decodedJWT());
+                SecurityContextHolder.getContext().setAuthentication(verified.authentication());
             }
         }
         filterChain.doFilter(servletRequest, servletResponse);
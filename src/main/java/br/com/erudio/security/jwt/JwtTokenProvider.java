@@ -1,8 +1,9 @@
 package br.com.erudio.security.jwt;
 
-import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 import br.com.erudio.data.vo.v1.TokenVO;
 import br.com.erudio.execeptions.InvalidJwtAuthenticationException;
@@ -10,6 +11,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
@@ -17,7 +21,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
 import jakarta.annotation.PostConstruct;
@@ -26,73 +30,167 @@ import jakarta.servlet.http.HttpServletRequest;
 @Service
 public class JwtTokenProvider {
 
-    @Value("${security.jwt.token.secret-key:secret}")
-    private String secretKey = "secret";
+    private static final String COMPACT_ROLES_CLAIM = "r";
 
     @Value("${security.jwt.token.expire-length:3600000}")
     private long validityInMilliseconds = 3600000; // 1h
 
+    @Value("${security.jwt.token.authentication-mode:database}")
+    private AuthenticationMode authenticationMode = AuthenticationMode.DATABASE;
+
+    @Value("${security.jwt.token.profile:standard}")
+    private TokenProfile tokenProfile = TokenProfile.STANDARD;
+
+    @Value("${security.jwt.token.issuer:}")
+    private String issuer = "";
+
     @Autowired
     private UserDetailsService userDetailsService;
 
-    private Algorithm algorithm;
+    @Autowired
+    private RoleBitmaskCodec roleCodec;
+
+    @Autowired
+    private AccountStatusCache accountStatusCache;
+
+    @Autowired
+    private TokenDenyList denyList;
+
+    @Autowired
+    private JwtKeyRing keyRing;
 
     @PostConstruct
     protected void init() {
-        secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
-        algorithm = Algorithm.HMAC256(secretKey.getBytes());
+        if (tokenProfile == TokenProfile.COMPACT && (issuer == null || issuer.isBlank())) {
+            throw new IllegalStateException("security.jwt.token.issuer is required by the compact token profile!");
+        }
     }
 
     public TokenVO createAccessToken(String username, List<String> roles) {
+        return createAccessToken(username, roles, currentIssuer());
+    }
+
+    /**
+     * Same as {@link #createAccessToken(String, List)} with an issuer resolved beforehand
+     * by {@link #currentIssuer()}, for callers running outside the request thread.
+     */
+    public TokenVO createAccessToken(String username, List<String> roles, String issuer) {
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds);
-        String accessToken = generateToken(username, roles, now, validity);
+        String accessToken = generateToken(username, roles, issuer, now, validity);
         String refreshToken = generateRefreshToken(username, roles, now);
         return new TokenVO(username, true, now, validity, accessToken, refreshToken);
     }
 
     public TokenVO refreshToken(String refreshToken) {
         if (refreshToken.contains("Bearer ")) refreshToken = refreshToken.substring("Bearer ".length());
+        return refreshToken(verifyToken(refreshToken));
+    }
 
-        JWTVerifier verifier = JWT.require(algorithm).build();
-        DecodedJWT decodedJWT = verifier.verify(refreshToken);
-        String username = decodedJWT.getSubject();
-        List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
-        return createAccessToken(username, roles);
+    /**
+     * Issues a new token pair and denies the id of the refresh token that was used, so
+     * each refresh token is accepted only once. Tokens issued without an id are still
+     * honored until they expire.
+     */
+    public TokenVO refreshToken(DecodedJWT decodedJWT) {
+        if (decodedJWT.getId() != null
+                && !denyList.deny(decodedJWT.getId(), decodedJWT.getExpiresAt().getTime())) {
+            throw new InvalidJwtAuthenticationException("Expired or invalid JWT token!");
+        }
+        return createAccessToken(decodedJWT.getSubject(), getRoles(decodedJWT));
     }
 
-    private String generateToken(String username, List<String> roles, Date issuedAt, Date expiresAt) {
-        String issuerUrl = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
-        return JWT.create()
+    /**
+     * Issuer of the tokens created now: the configured one for the compact profile, the
+     * context path of the current request for the standard one, which must therefore be
+     * resolved on the request thread.
+     */
+    public String currentIssuer() {
+        if (tokenProfile == TokenProfile.COMPACT) return issuer;
+        return ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+    }
+
+    private String generateToken(String username, List<String> roles, String issuer, Date issuedAt, Date expiresAt) {
+        if (tokenProfile == TokenProfile.COMPACT) {
+            return sign(JWT.create()
+                    .withClaim(COMPACT_ROLES_CLAIM, roleCodec.encode(roles))
+                    .withExpiresAt(expiresAt)
+                    .withSubject(username)
+                    .withIssuer(issuer));
+        }
+        return sign(JWT.create()
                 .withClaim("roles", roles)
                 .withIssuedAt(issuedAt)
                 .withExpiresAt(expiresAt)
                 .withSubject(username)
-                .withIssuer(issuerUrl)
-                .sign(algorithm)
-                .strip();
+                .withIssuer(issuer));
     }
 
     private String generateRefreshToken(String username, List<String> roles, Date issuedAt) {
         Date validityRefreshToken = new Date(issuedAt.getTime() + (validityInMilliseconds * 3));
-        return JWT.create()
+        if (tokenProfile == TokenProfile.COMPACT) {
+            return sign(JWT.create()
+                    .withClaim(COMPACT_ROLES_CLAIM, roleCodec.encode(roles))
+                    .withExpiresAt(validityRefreshToken)
+                    .withSubject(username)
+                    .withJWTId(UUID.randomUUID().toString()));
+        }
+        return sign(JWT.create()
                 .withClaim("roles", roles)
                 .withIssuedAt(issuedAt)
                 .withExpiresAt(validityRefreshToken)
                 .withSubject(username)
-                .sign(algorithm)
-                .strip();
+                .withJWTId(UUID.randomUUID().toString()));
+    }
+
+    private String sign(JWTCreator.Builder builder) {
+        var signingKey = keyRing.signingKey();
+        return builder.withKeyId(signingKey.keyId()).sign(signingKey.algorithm()).strip();
+    }
+
+    private List<String> getRoles(DecodedJWT decodedJWT) {
+        String encodedRoles = decodedJWT.getClaim(COMPACT_ROLES_CLAIM).asString();
+        if (encodedRoles != null) return roleCodec.decodeRoles(encodedRoles);
+        return decodedJWT.getClaim("roles").asList(String.class);
     }
 
-    public Authentication getAuthentication(String token) {
-        DecodedJWT decodedJWT = decodeToken(token);
+    public Authentication getAuthentication(DecodedJWT decodedJWT) {
+        if (authenticationMode == AuthenticationMode.CLAIMS) return getAuthenticationFromClaims(decodedJWT);
         UserDetails userDetails = userDetailsService.loadUserByUsername(decodedJWT.getSubject());
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
+    public boolean isRevoked(VerifiedToken verified) {
+        return denyList.isDenied(verified.decodedJWT().getId()) || isRevoked(verified.authentication());
+    }
+
+    public boolean isRevoked(Authentication authentication) {
+        if (authenticationMode != AuthenticationMode.CLAIMS) return false;
+        return !accountStatusCache.isActive(authentication.getName());
+    }
+
+    private Authentication getAuthenticationFromClaims(DecodedJWT decodedJWT) {
+        Collection<? extends GrantedAuthority> authorities;
+        String encodedRoles = decodedJWT.getClaim(COMPACT_ROLES_CLAIM).asString();
+        if (encodedRoles != null) {
+            authorities = roleCodec.decodeAuthorities(encodedRoles);
+        } else {
+            List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
+            authorities = roles == null ? List.of() :
+                    roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+        }
+        UserDetails userDetails = User.withUsername(decodedJWT.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build();
+        return new UsernamePasswordAuthenticationToken(userDetails, "", authorities);
+    }
+
     private DecodedJWT decodeToken(String token) {
-        JWTVerifier verifier = JWT.require(algorithm).build();
-        return verifier.verify(token);
+        DecodedJWT decodedJWT = JWT.decode(token);
+        JWTVerifier verifier = keyRing.verifier(decodedJWT.getKeyId());
+        if (verifier == null) throw new InvalidJwtAuthenticationException("Expired or invalid JWT token!");
+        return verifier.verify(decodedJWT);
     }
 
     public String resolveToken(HttpServletRequest req) {
@@ -103,19 +201,21 @@ public class JwtTokenProvider {
         return null;
     }
 
-    public boolean validateToken(String token) {
+    public DecodedJWT verifyToken(String token) {
         try {
             DecodedJWT decodedJWT = decodeToken(token);
-            return !decodedJWT.getExpiresAt().before(new Date());
+            if (decodedJWT.getExpiresAt().before(new Date())) {
+                throw new InvalidJwtAuthenticationException("Expired or invalid JWT token!");
+            }
+            if (denyList.isDenied(decodedJWT.getId())) {
+                throw new InvalidJwtAuthenticationException("Expired or invalid JWT token!");
+            }
+            return decodedJWT;
         } catch (Exception e) {
             throw new InvalidJwtAuthenticationException("Expired or invalid JWT token!");
         }
     }
 
-    public String getSecretKey() {
-        return secretKey;
-    }
-
     public long getValidityInMilliseconds() {
         return validityInMilliseconds;
     }
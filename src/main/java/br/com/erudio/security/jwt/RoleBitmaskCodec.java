@@ -0,0 +1,45 @@
+package br.com.erudio.security.jwt;
+
+import br.com.erudio.security.permission.PermissionRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Encodes role names as a bitmask over the permission table (bit = permission id - 1),
+ * written as unpadded base64url. Decoding resolves the bits to the shared authority
+ * sets held by {@link PermissionRegistry}.
+ */
+@Component
+public class RoleBitmaskCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Autowired
+    private PermissionRegistry permissionRegistry;
+
+    public String encode(Collection<String> roles) {
+        var bits = new BitSet();
+        for (String role : roles) {
+            int bit = permissionRegistry.bitOf(role);
+            if (bit < 0) throw new IllegalStateException("Role " + role + " is not in the permission table!");
+            bits.set(bit);
+        }
+        return ENCODER.encodeToString(bits.toByteArray());
+    }
+
+    public Collection<GrantedAuthority> decodeAuthorities(String encoded) {
+        return permissionRegistry.resolve(BitSet.valueOf(DECODER.decode(encoded))).authorities();
+    }
+
+    public List<String> decodeRoles(String encoded) {
+        return permissionRegistry.resolve(BitSet.valueOf(DECODER.decode(encoded))).roles();
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.erudio.security.jwt;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * In-memory deny list of token ids (jti), kept until the token would expire anyway.
+ * <p>
+ * Lookups go through a Bloom filter first, so a token that was never revoked is
+ * answered without touching the map. Expiration is driven by a hashed timing wheel:
+ * each id sits in the slot of its expiry tick and is dropped when the wheel passes it.
+ * The live entries are written to a local snapshot file and read back on startup.
+ */
+@Component
+public class TokenDenyList {
+
+    private final Logger logger = Logger.getLogger(TokenDenyList.class.getName());
+
+    @Value("${security.jwt.deny-list.bloom-filter:true}")
+    private boolean bloomFilterEnabled = true;
+
+    @Value("${security.jwt.deny-list.expected-insertions:100000}")
+    private long expectedInsertions = 100000;
+
+    @Value("${security.jwt.deny-list.false-positive-probability:0.001}")
+    private double falsePositiveProbability = 0.001;
+
+    @Value("${security.jwt.deny-list.tick:60000}")
+    private long tickInMilliseconds = 60000;
+
+    @Value("${security.jwt.deny-list.wheel-size:256}")
+    private int wheelSize = 256;
+
+    @Value("${security.jwt.deny-list.snapshot-file:}")
+    private String snapshotFile = "";
+
+    private final ConcurrentHashMap<String, Long> entries = new ConcurrentHashMap<>();
+
+    private ConcurrentLinkedQueue<Entry>[] wheel;
+
+    private volatile BloomFilter bloomFilter;
+
+    private volatile long lastTick;
+
+    private volatile boolean dirty;
+
+    private int expiredSinceRebuild;
+
+    // the scheduler and @PreDestroy may both write the snapshot
+    private final Object snapshotLock = new Object();
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    protected void init() {
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1) << 1);
+        wheel = new ConcurrentLinkedQueue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        lastTick = tick(System.currentTimeMillis());
+        if (bloomFilterEnabled) bloomFilter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        loadSnapshot();
+    }
+
+    /**
+     * Adds the id to the deny list. Returns false when it was already there, which lets
+     * the caller detect a second use of the same token.
+     */
+    public boolean deny(String jti, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) return !entries.containsKey(jti);
+        if (entries.putIfAbsent(jti, expiresAt) != null) return false;
+        wheel[(int) (tick(expiresAt) & (wheel.length - 1))].add(new Entry(jti, expiresAt));
+        var bloom = bloomFilter;
+        if (bloom != null) bloom.put(jti);
+        dirty = true;
+        return true;
+    }
+
+    public boolean isDenied(String jti) {
+        if (jti == null) return false;
+        var bloom = bloomFilter;
+        if (bloom != null && !bloom.mightContain(jti)) return false;
+        Long expiresAt = entries.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.deny-list.tick:60000}")
+    public synchronized void advance() {
+        long now = System.currentTimeMillis();
+        long nowTick = tick(now);
+        long from = Math.max(lastTick + 1, nowTick - wheel.length + 1);
+        for (long t = from; t <= nowTick; t++) {
+            var slot = wheel[(int) (t & (wheel.length - 1))];
+            for (var iterator = slot.iterator(); iterator.hasNext(); ) {
+                var entry = iterator.next();
+                if (entry.expiresAt() <= now) {
+                    iterator.remove();
+                    entries.remove(entry.jti(), entry.expiresAt());
+                    expiredSinceRebuild++;
+                    dirty = true;
+                }
+            }
+        }
+        lastTick = nowTick;
+        if (bloomFilterEnabled && expiredSinceRebuild > expectedInsertions / 2) rebuildBloomFilter();
+    }
+
+    /**
+     * Writes the live entries to a temporary file next to the snapshot, created readable
+     * by the owner only, and moves it over the snapshot atomically.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.deny-list.snapshot-interval:60000}")
+    public void snapshot() {
+        if (snapshotFile.isBlank()) return;
+        synchronized (snapshotLock) {
+            if (!dirty) return;
+            dirty = false;
+            Path target = Path.of(snapshotFile).toAbsolutePath();
+            Path temp = null;
+            try {
+                Path parent = target.getParent();
+                Files.createDirectories(parent);
+                temp = Files.createTempFile(parent, "deny-list", ".tmp");
+                long now = System.currentTimeMillis();
+                try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    for (var entry : entries.entrySet()) {
+                        if (entry.getValue() <= now) continue;
+                        writer.write(entry.getKey());
+                        writer.write(' ');
+                        writer.write(Long.toString(entry.getValue()));
+                        writer.newLine();
+                    }
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                dirty = true;
+                deleteQuietly(temp);
+                logger.log(Level.WARNING, "Could not write the token deny list snapshot to " + snapshotFile, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        snapshot();
+    }
+
+    private void loadSnapshot() {
+        if (snapshotFile.isBlank() || !Files.exists(Path.of(snapshotFile))) return;
+        try (var lines = Files.lines(Path.of(snapshotFile), StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                int separator = line.indexOf(' ');
+                if (separator <= 0) return;
+                deny(line.substring(0, separator), Long.parseLong(line.substring(separator + 1).trim()));
+            });
+            dirty = false;
+            logger.info(() -> "Loaded " + entries.size() + " denied token ids from " + snapshotFile);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Could not read the token deny list snapshot from " + snapshotFile, e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Could not delete " + path, e);
+        }
+    }
+
+    private void rebuildBloomFilter() {
+        var rebuilt = new BloomFilter(Math.max(expectedInsertions, entries.size() * 2L), falsePositiveProbability);
+        entries.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        // ids denied while the filter was being rebuilt may have gone to the old one
+        entries.keySet().forEach(rebuilt::put);
+        expiredSinceRebuild = 0;
+    }
+
+    private long tick(long timeInMilliseconds) {
+        return timeInMilliseconds / tickInMilliseconds;
+    }
+
+    private record Entry(String jti, long expiresAt) {}
+}
@@ -0,0 +1,11 @@
+package br.com.erudio.security.jwt;
+
+/**
+ * Claim layout of issued tokens. STANDARD writes the role names and the request's
+ * context path as issuer; COMPACT writes the roles as a bitmask over the permission
+ * table, a fixed issuer and no issued-at claim.
+ */
+public enum TokenProfile {
+    STANDARD,
+    COMPACT
+}
@@ -0,0 +1,11 @@
+package br.com.erudio.security.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.springframework.security.core.Authentication;
+
+/**
+ * A token that already went through signature and expiration checks, together with
+ * the Authentication built from it.
+ */
+public record VerifiedToken(DecodedJWT decodedJWT, Authentication authentication) {
+}
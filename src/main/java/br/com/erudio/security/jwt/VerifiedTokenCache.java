@@ -0,0 +1,133 @@
+package br.com.erudio.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link VerifiedToken} built for an already verified bearer token, so
+ * repeated requests with the same token skip the signature check. Entries are keyed
+ * by a SHA-256 digest of the token and expire at the token's own exp claim, or as soon
+ * as the user they were issued to changes (see {@link #invalidateSubject(String)}).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${security.jwt.token.cache.max-size:10000}")
+    private long maximumSize = 10000;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, Entry> cache;
+
+    // token digests by subject, so a changed user drops its entries without a scan
+    private final Map<String, Set<String>> keysBySubject = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    protected void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(0, entry.expiresAt() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (key != null && entry != null && !cache.asMap().containsKey(key)) unindex(entry.subject(), key);
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.token.cache");
+        }
+    }
+
+    public VerifiedToken get(String token) {
+        var key = digest(token);
+        var entry = cache.getIfPresent(key);
+        if (entry == null) return null;
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            cache.invalidate(key);
+            return null;
+        }
+        return entry.verifiedToken();
+    }
+
+    public void put(String token, VerifiedToken verifiedToken) {
+        Date expiresAt = verifiedToken.decodedJWT().getExpiresAt();
+        if (expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) return;
+        var key = digest(token);
+        var subject = verifiedToken.decodedJWT().getSubject();
+        if (subject != null) keysBySubject.computeIfAbsent(subject, s -> ConcurrentHashMap.newKeySet()).add(key);
+        cache.put(key, new Entry(verifiedToken, subject, expiresAt.getTime()));
+    }
+
+    /** Drops every cached token issued to the given user, so its authorities are rebuilt. */
+    public void invalidateSubject(String subject) {
+        if (subject == null) return;
+        var keys = keysBySubject.remove(subject);
+        if (keys != null) cache.invalidateAll(keys);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        keysBySubject.clear();
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    private String digest(String token) {
+        try {
+            var sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available!", e);
+        }
+    }
+
+    private void unindex(String subject, String key) {
+        if (subject == null) return;
+        keysBySubject.computeIfPresent(subject, (s, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record Entry(VerifiedToken verifiedToken, String subject, long expiresAt) {}
+}
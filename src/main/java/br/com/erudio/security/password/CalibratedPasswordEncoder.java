@@ -0,0 +1,90 @@
+package br.com.erudio.security.password;
+
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PBKDF2 encoder whose iteration count is part of the stored id, e.g.
+ * {@code {pbkdf2@310000}...}. Hashes without a prefix were written with the original
+ * fixed 185000 iterations and keep verifying; {@link #upgradeEncoding(String)} asks for
+ * them, and for any hash with fewer iterations than the current ones, to be re-encoded
+ * after a successful login.
+ */
+public class CalibratedPasswordEncoder extends DelegatingPasswordEncoder {
+
+    public static final int LEGACY_ITERATIONS = 185000;
+
+    private static final String LEGACY_ID = "pbkdf2";
+
+    private static final String ID_PREFIX = "pbkdf2@";
+
+    private static final int MAX_ACCEPTED_ITERATIONS = 10_000_000;
+
+    private final int iterations;
+
+    public CalibratedPasswordEncoder(int iterations) {
+        super(ID_PREFIX + iterations, Map.of(
+                ID_PREFIX + iterations, pbkdf2(iterations),
+                LEGACY_ID, pbkdf2(LEGACY_ITERATIONS)));
+        this.iterations = iterations;
+        setDefaultPasswordEncoderForMatches(new AnyIterationsMatcher(pbkdf2(LEGACY_ITERATIONS)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String prefixEncodedPassword) {
+        int stored = iterationsOf(prefixEncodedPassword);
+        return stored < iterations;
+    }
+
+    static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 8, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static int iterationsOf(String prefixEncodedPassword) {
+        if (prefixEncodedPassword == null || !prefixEncodedPassword.startsWith("{" + ID_PREFIX)) {
+            return LEGACY_ITERATIONS;
+        }
+        int end = prefixEncodedPassword.indexOf('}');
+        try {
+            return Integer.parseInt(prefixEncodedPassword.substring(ID_PREFIX.length() + 1, end));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Verifies hashes written by nodes calibrated to a different iteration count, and
+     * unprefixed legacy hashes.
+     */
+    private static class AnyIterationsMatcher implements PasswordEncoder {
+
+        private final PasswordEncoder legacy;
+
+        private final Map<Integer, PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+        AnyIterationsMatcher(PasswordEncoder legacy) {
+            this.legacy = legacy;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("encode is not supported");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null || !encodedPassword.startsWith("{")) {
+                return legacy.matches(rawPassword, encodedPassword);
+            }
+            int stored = iterationsOf(encodedPassword);
+            if (stored <= 0 || stored > MAX_ACCEPTED_ITERATIONS) return false;
+            var encoder = encoders.computeIfAbsent(stored, CalibratedPasswordEncoder::pbkdf2);
+            return encoder.matches(rawPassword, encodedPassword.substring(encodedPassword.indexOf('}') + 1));
+        }
+    }
+}
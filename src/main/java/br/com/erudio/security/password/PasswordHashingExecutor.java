@@ -0,0 +1,89 @@
+package br.com.erudio.security.password;
+
+import br.com.erudio.execeptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password hashing work (PBKDF2 verification on sign in) on a dedicated, bounded
+ * pool instead of the Tomcat request threads. When every worker is busy and the queue
+ * is full, or a task waited longer than the queue timeout, the work is not started and
+ * the future fails with a {@link ServiceUnavailableException}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    @Value("${security.password.hashing.max-concurrency:0}")
+    private int maxConcurrency;
+
+    @Value("${security.password.hashing.queue-capacity:100}")
+    private int queueCapacity = 100;
+
+    @Value("${security.password.hashing.queue-timeout:2000}")
+    private long queueTimeoutInMilliseconds = 2000;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    protected void init() {
+        int poolSize = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.initialize();
+        if (meterRegistry != null) {
+            Gauge.builder("password.hashing.active", this, PasswordHashingExecutor::getActiveCount)
+                    .description("Password hashing tasks running")
+                    .register(meterRegistry);
+            Gauge.builder("password.hashing.queued", this, PasswordHashingExecutor::getQueueSize)
+                    .description("Password hashing tasks waiting for a worker")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        executor.shutdown();
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        long queueTimeout = TimeUnit.MILLISECONDS.toNanos(queueTimeoutInMilliseconds);
+        try {
+            return executor.submitCompletable(() -> {
+                if (System.nanoTime() - submittedAt > queueTimeout) throw saturated();
+                return task.call();
+            });
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(saturated());
+        }
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    private ServiceUnavailableException saturated() {
+        return new ServiceUnavailableException("Too many sign in requests, try again later!");
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.erudio.security.password;
+
+import java.util.logging.Logger;
+
+/**
+ * Picks a PBKDF2 iteration count for the current machine: times a probe encoding and
+ * scales the iterations so one verification takes roughly the target latency. The
+ * result is rounded down to a multiple of {@link #ITERATION_STEP}, so nodes with
+ * similar hardware settle on the same count, and clamped to the configured bounds.
+ */
+public final class Pbkdf2Calibrator {
+
+    static final int ITERATION_STEP = 10000;
+
+    private static final int PROBE_ITERATIONS = 20000;
+
+    private static final int PROBE_ROUNDS = 5;
+
+    private static final Logger logger = Logger.getLogger(Pbkdf2Calibrator.class.getName());
+
+    private Pbkdf2Calibrator() {}
+
+    public static int calibrate(long targetMillis, int minIterations, int maxIterations) {
+        var probe = CalibratedPasswordEncoder.pbkdf2(PROBE_ITERATIONS);
+        probe.encode("calibration-warmup");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double nanosPerIteration = (double) best / PROBE_ITERATIONS;
+        long iterations = (long) (targetMillis * 1_000_000L / nanosPerIteration);
+        iterations = iterations / ITERATION_STEP * ITERATION_STEP;
+        int calibrated = (int) Math.max(minIterations, Math.min(maxIterations, iterations));
+
+        logger.info(() -> "PBKDF2 calibrated to " + calibrated + " iterations for a "
+                + targetMillis + "ms target");
+        return calibrated;
+    }
+}
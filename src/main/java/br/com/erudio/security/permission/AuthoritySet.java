@@ -0,0 +1,15 @@
+package br.com.erudio.security.permission;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable authorities and role names for one combination of permissions. Instances
+ * are interned by {@link PermissionRegistry}, so users with the same permissions share one.
+ */
+public record AuthoritySet(Set<GrantedAuthority> authorities, List<String> roles) {
+
+    public static final AuthoritySet EMPTY = new AuthoritySet(Set.of(), List.of());
+}
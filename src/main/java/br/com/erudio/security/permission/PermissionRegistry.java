@@ -0,0 +1,129 @@
+package br.com.erudio.security.permission;
+
+import br.com.erudio.model.permission.Permission;
+import br.com.erudio.repositories.PermissionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Immutable in-memory copy of the permission table. Each permission maps to the bit
+ * id - 1, and each combination of permissions resolves to one shared {@link AuthoritySet}.
+ * The table is loaded at startup, and again lazily after {@link #invalidate()} and on a
+ * fixed schedule, to pick up rows changed outside this application.
+ */
+@Component
+public class PermissionRegistry {
+
+    private final Logger logger = Logger.getLogger(PermissionRegistry.class.getName());
+
+    @Autowired
+    private PermissionRepository repository;
+
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    protected void init() {
+        load();
+    }
+
+    public AuthoritySet resolve(Collection<Long> permissionIds) {
+        var bits = new BitSet();
+        for (Long id : permissionIds) {
+            bits.set(id.intValue() - 1);
+        }
+        return resolve(bits);
+    }
+
+    public AuthoritySet resolve(BitSet bits) {
+        if (bits.isEmpty()) return AuthoritySet.EMPTY;
+        var current = bits.length() > snapshot().authorities().length ? load() : snapshot();
+        return current.interned().computeIfAbsent((BitSet) bits.clone(), key -> intern(current, key));
+    }
+
+    /** Bit of the given role, or -1 when no permission has that description. */
+    public int bitOf(String role) {
+        Integer bit = snapshot().bits().get(role);
+        if (bit == null) bit = load().bits().get(role);
+        return bit == null ? -1 : bit;
+    }
+
+    /** Drops the loaded table, so the next lookup reads the permission table again. */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    @Scheduled(fixedDelayString = "${security.permission-registry.refresh-interval:300000}")
+    public void refresh() {
+        load();
+    }
+
+    private synchronized Snapshot load() {
+        var permissions = repository.findAll();
+        var current = snapshot;
+        if (current != null && current.sameAs(permissions)) return current;
+        var loaded = Snapshot.of(permissions);
+        snapshot = loaded;
+        logger.fine(() -> "Loaded " + permissions.size() + " permissions!");
+        return loaded;
+    }
+
+    private Snapshot snapshot() {
+        var current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private static AuthoritySet intern(Snapshot snapshot, BitSet bits) {
+        var authorities = new LinkedHashSet<GrantedAuthority>();
+        var roles = new ArrayList<String>();
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            var authority = bit < snapshot.authorities().length ? snapshot.authorities()[bit] : null;
+            if (authority == null) continue;
+            authorities.add(authority);
+            roles.add(authority.getAuthority());
+        }
+        return new AuthoritySet(Collections.unmodifiableSet(authorities), List.copyOf(roles));
+    }
+
+    private record Snapshot(GrantedAuthority[] authorities, Map<String, Integer> bits,
+                           ConcurrentHashMap<BitSet, AuthoritySet> interned) {
+
+        static Snapshot of(List<Permission> permissions) {
+            int size = 0;
+            for (Permission permission : permissions) {
+                size = Math.max(size, permission.getId().intValue());
+            }
+            var authorities = new GrantedAuthority[size];
+            var bits = new HashMap<String, Integer>();
+            for (Permission permission : permissions) {
+                int bit = permission.getId().intValue() - 1;
+                authorities[bit] = new SimpleGrantedAuthority(permission.getDescription());
+                bits.put(permission.getDescription(), bit);
+            }
+            return new Snapshot(authorities, Map.copyOf(bits), new ConcurrentHashMap<>());
+        }
+
+        boolean sameAs(List<Permission> permissions) {
+            if (permissions.size() != bits.size()) return false;
+            for (Permission permission : permissions) {
+                Integer bit = bits.get(permission.getDescription());
+                if (bit == null || bit != permission.getId().intValue() - 1) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.erudio.security.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process throttling for the authentication endpoints. Every attempt must take a
+ * token from both the bucket of the client IP and the bucket of the username. Buckets
+ * live in striped maps and are dropped once they have been idle and full for the idle
+ * timeout.
+ */
+@Component
+public class AuthRateLimiter {
+
+    @Value("${security.rate-limit.auth.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${security.rate-limit.auth.capacity:10}")
+    private int capacity = 10;
+
+    @Value("${security.rate-limit.auth.refill-per-minute:10}")
+    private int refillPerMinute = 10;
+
+    @Value("${security.rate-limit.auth.idle-timeout:600000}")
+    private long idleTimeoutInMilliseconds = 600000;
+
+    @Value("${security.rate-limit.auth.stripes:16}")
+    private int stripeCount = 16;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private ConcurrentHashMap<String, TokenBucket>[] stripes;
+
+    private double tokensPerNano;
+
+    private final LongAdder allowed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    protected void init() {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        stripes = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+
+        if (meterRegistry != null) {
+            FunctionCounter.builder("auth.rate.limit.requests", allowed, LongAdder::sum)
+                    .tag("result", "allowed").register(meterRegistry);
+            FunctionCounter.builder("auth.rate.limit.requests", rejected, LongAdder::sum)
+                    .tag("result", "rejected").register(meterRegistry);
+            Gauge.builder("auth.rate.limit.buckets", this, AuthRateLimiter::getBucketCount)
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean tryAcquire(String clientIp, String username) {
+        if (!enabled) return true;
+        long now = System.nanoTime();
+        boolean permitted = (clientIp == null || bucket("ip:" + clientIp, now).tryAcquire(now))
+                && (username == null || bucket("user:" + username, now).tryAcquire(now));
+        (permitted ? allowed : rejected).increment();
+        return permitted;
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.auth.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutInMilliseconds);
+        for (var stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        }
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getBucketCount() {
+        return Arrays.stream(stripes).mapToLong(ConcurrentHashMap::size).sum();
+    }
+
+    private TokenBucket bucket(String key, long now) {
+        int hash = key.hashCode();
+        var stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        var bucket = stripe.get(key);
+        if (bucket != null) return bucket;
+        return stripe.computeIfAbsent(key, k -> new TokenBucket(capacity, tokensPerNano, now));
+    }
+}
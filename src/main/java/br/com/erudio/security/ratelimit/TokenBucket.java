@@ -0,0 +1,44 @@
+package br.com.erudio.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket updated with compare-and-set only: each acquire refills the bucket for
+ * the time elapsed since the last update and takes one token, retrying on contention.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private final AtomicReference<State> state;
+
+    public TokenBucket(double capacity, double tokensPerNano, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerNano;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    public boolean tryAcquire(long now) {
+        while (true) {
+            State current = state.get();
+            double tokens = refill(current, now);
+            boolean allowed = tokens >= 1;
+            State next = new State(allowed ? tokens - 1 : tokens, Math.max(now, current.updatedAt()));
+            if (state.compareAndSet(current, next)) return allowed;
+        }
+    }
+
+    public boolean isIdle(long now, long idleNanos) {
+        State current = state.get();
+        return now - current.updatedAt() > idleNanos && refill(current, now) >= capacity;
+    }
+
+    private double refill(State current, long now) {
+        long elapsed = Math.max(0, now - current.updatedAt());
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long updatedAt) {}
+}
@@ -0,0 +1,21 @@
+package br.com.erudio.serialization;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * Response body whose elements are only read while the response is being written.
+ * The source opens the stream (and whatever transaction it needs), hands it to the
+ * writer and releases it once the writer returns, so the elements never sit in a
+ * list on the heap.
+ */
+@FunctionalInterface
+public interface StreamedResponse<T> {
+
+    void writeTo(Writer<T> writer) throws IOException;
+
+    @FunctionalInterface
+    interface Writer<T> {
+        void write(Stream<T> elements) throws IOException;
+    }
+}
@@ -0,0 +1,163 @@
+package br.com.erudio.serialization.converter;
+
+import br.com.erudio.data.vo.v1.PersonPagedModel;
+import br.com.erudio.data.vo.v1.PersonVO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.Links;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes {@link PersonPagedModel} as HAL straight to the {@link JsonGenerator}, with
+ * the same bytes the HAL object mapper would produce but without building an
+ * EntityModel per person. Pages carrying anything the fast path does not know about
+ * (templated or titled links, repeated rels, non default inclusion or indentation)
+ * are handed to the HAL object mapper registered on the Jackson converter, and so
+ * is everything when no HAL mapper is registered for the negotiated media type.
+ */
+public class PersonPageHalHttpMessageConverter extends AbstractHttpMessageConverter<PersonPagedModel> {
+
+    private final MappingJackson2HttpMessageConverter jsonConverter;
+    private final String collectionRel;
+
+    public PersonPageHalHttpMessageConverter(MappingJackson2HttpMessageConverter jsonConverter, String collectionRel) {
+        super(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON);
+        this.jsonConverter = jsonConverter;
+        this.collectionRel = collectionRel;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PersonPagedModel.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PersonPagedModel readInternal(Class<? extends PersonPagedModel> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Paged person responses are write only!", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PersonPagedModel model, HttpOutputMessage outputMessage) throws IOException {
+        var mapper = halMapper(outputMessage.getHeaders().getContentType());
+        var body = StreamUtils.nonClosing(outputMessage.getBody());
+        if (mapper == null || !canWriteDirectly(mapper, model)) {
+            if (mapper == null) mapper = jsonConverter.getObjectMapper();
+            mapper.writeValue(body, model);
+            return;
+        }
+        try (var generator = mapper.getFactory().createGenerator(body, JsonEncoding.UTF8)) {
+            write(generator, model);
+        }
+    }
+
+    private void write(JsonGenerator generator, PersonPagedModel model) throws IOException {
+        generator.writeStartObject();
+        if (!model.people().isEmpty()) {
+            generator.writeObjectFieldStart("_embedded");
+            generator.writeArrayFieldStart(collectionRel);
+            for (PersonVO person : model.people()) {
+                writePerson(generator, person);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        writeLinks(generator, model.getLinks());
+        var metadata = model.getMetadata();
+        if (metadata != null) {
+            generator.writeObjectFieldStart("page");
+            generator.writeNumberField("size", metadata.getSize());
+            generator.writeNumberField("totalElements", metadata.getTotalElements());
+            generator.writeNumberField("totalPages", metadata.getTotalPages());
+            generator.writeNumberField("number", metadata.getNumber());
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private void writePerson(JsonGenerator generator, PersonVO person) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("id");
+        if (person.getKey() == null) generator.writeNull();
+        else generator.writeNumber(person.getKey());
+        generator.writeStringField("firstName", person.getFirstName());
+        generator.writeStringField("lastName", person.getLastName());
+        generator.writeStringField("address", person.getAddress());
+        generator.writeStringField("gender", person.getGender());
+        generator.writeFieldName("enabled");
+        if (person.getEnabled() == null) generator.writeNull();
+        else generator.writeBoolean(person.getEnabled());
+        writeLinks(generator, person.getLinks());
+        generator.writeEndObject();
+    }
+
+    private void writeLinks(JsonGenerator generator, Links links) throws IOException {
+        if (links.isEmpty()) return;
+        generator.writeObjectFieldStart("_links");
+        for (Link link : links) {
+            generator.writeObjectFieldStart(link.getRel().value());
+            generator.writeStringField("href", link.getHref());
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private ObjectMapper halMapper(MediaType contentType) {
+        Map<MediaType, ObjectMapper> mappers = jsonConverter.getObjectMappersForType(PagedModel.class);
+        if (contentType != null) {
+            for (var entry : mappers.entrySet()) {
+                if (entry.getKey().includes(contentType)) return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private boolean canWriteDirectly(ObjectMapper mapper, PersonPagedModel model) {
+        var config = mapper.getSerializationConfig();
+        if (config.isEnabled(SerializationFeature.INDENT_OUTPUT)) return false;
+        var inclusion = config.getDefaultPropertyInclusion().getValueInclusion();
+        if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS) return false;
+        if (!isPlain(model.getLinks())) return false;
+        for (PersonVO person : model.people()) {
+            if (!isPlain(person.getLinks())) return false;
+        }
+        return true;
+    }
+
+    private boolean isPlain(Links links) {
+        int index = 0;
+        for (Link link : links) {
+            if (link.isTemplated() || link.getHreflang() != null || link.getMedia() != null
+                    || link.getTitle() != null || link.getType() != null || link.getDeprecation() != null
+                    || link.getProfile() != null || link.getName() != null) {
+                return false;
+            }
+            int previous = 0;
+            for (Link other : links) {
+                if (previous++ == index) break;
+                if (other.getRel().equals(link.getRel())) return false;
+            }
+            index++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.erudio.serialization.converter;
+
+import br.com.erudio.serialization.StreamedResponse;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes a {@link StreamedResponse} with whichever converter would have written a
+ * list for the negotiated media type (JSON, XML or YAML), handing it a value whose
+ * serializer pulls from the open stream, so the wire format is the same as for a list.
+ */
+public class StreamedResponseHttpMessageConverter implements HttpMessageConverter<StreamedResponse<?>> {
+
+    private final List<HttpMessageConverter<?>> converters;
+
+    public StreamedResponseHttpMessageConverter(List<HttpMessageConverter<?>> converters) {
+        this.converters = converters;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return StreamedResponse.class.isAssignableFrom(clazz) && delegate(mediaType) != null;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        var mediaTypes = new ArrayList<MediaType>();
+        for (var converter : converters) {
+            if (converter != this && converter.canWrite(StreamedItems.class, null)) {
+                mediaTypes.addAll(converter.getSupportedMediaTypes(StreamedItems.class));
+            }
+        }
+        return mediaTypes;
+    }
+
+    @Override
+    public StreamedResponse<?> read(Class<? extends StreamedResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Streamed responses are write only!", inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(StreamedResponse<?> response, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException {
+        var delegate = (HttpMessageConverter<Object>) delegate(contentType);
+        if (delegate == null) {
+            throw new HttpMessageNotWritableException("No converter writes a list as " + contentType);
+        }
+        response.writeTo(elements -> delegate.write(new StreamedItems(elements), contentType, outputMessage));
+    }
+
+    private HttpMessageConverter<?> delegate(MediaType mediaType) {
+        for (var converter : converters) {
+            if (converter != this && converter.canWrite(StreamedItems.class, mediaType)) return converter;
+        }
+        return null;
+    }
+
+    /**
+     * Items of the open stream, serialized as a JSON or YAML array and, for XML, with the
+     * same List root and item elements Jackson writes for a root level collection. It is
+     * deliberately not a Collection: the size is unknown until the stream is drained.
+     */
+    @JsonRootName("List")
+    @JsonSerialize(using = StreamedItemsSerializer.class)
+    private static class StreamedItems {
+
+        private Stream<?> elements;
+
+        StreamedItems(Stream<?> elements) {
+            this.elements = elements;
+        }
+
+        Iterator<?> iterator() {
+            if (elements == null) throw new IllegalStateException("The stream was already consumed!");
+            var iterator = elements.iterator();
+            elements = null;
+            return iterator;
+        }
+    }
+
+    private static class StreamedItemsSerializer extends StdSerializer<StreamedItems> {
+
+        StreamedItemsSerializer() {
+            super(StreamedItems.class);
+        }
+
+        @Override
+        public void serialize(StreamedItems items, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            boolean xml = generator instanceof ToXmlGenerator;
+            if (xml) {
+                generator.writeStartObject();
+                generator.writeFieldName("item");
+            }
+            generator.writeStartArray();
+            for (var iterator = items.iterator(); iterator.hasNext(); ) {
+                var item = iterator.next();
+                if (item == null) provider.defaultSerializeNull(generator);
+                else provider.findValueSerializer(item.getClass()).serialize(item, generator, provider);
+            }
+            generator.writeEndArray();
+            if (xml) generator.writeEndObject();
+        }
+    }
+}
@@ -2,9 +2,14 @@ package br.com.erudio.services;
 
 import br.com.erudio.data.vo.v1.AccountCredentialsVO;
 import br.com.erudio.data.vo.v1.TokenVO;
+import br.com.erudio.model.user.User;
 import br.com.erudio.repositories.UserRepository;
 import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.password.PasswordHashingExecutor;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -12,6 +17,9 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class AuthService {
 
@@ -24,21 +32,49 @@ public class AuthService {
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private UserService userService;
 
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
 
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor taskExecutor;
+
+    /**
+     * Verifies the password on the hashing pool, then loads the user and signs the token
+     * on the application task executor, so the bounded hashing workers only ever hash.
+     * The issuer is resolved before handing off, since the standard profile reads it
+     * from the current request and neither pool has a request bound to it.
+     */
     @SuppressWarnings("rawtypes")
-    public ResponseEntity signin(AccountCredentialsVO data) {
+    public CompletableFuture<ResponseEntity> signin(AccountCredentialsVO data) {
+        var username = data.getUsername();
+        var password = data.getPassword();
+        var issuer = jwtTokenProvider.currentIssuer();
+        return passwordHashingExecutor.submit(() -> authenticate(username, password))
+                .thenApplyAsync(authenticated -> createToken(username, issuer), taskExecutor);
+    }
+
+    private boolean authenticate(String username, String password) {
         try {
-            var username = data.getUsername();
-            var password = data.getPassword();
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(username, password));
+            return true;
+        } catch (Exception e) {
+            throw new BadCredentialsException("Invalid username/password supplied!");
+        }
+    }
 
-            var user = repository.findByUsername(username);
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity createToken(String username, String issuer) {
+        try {
+            var user = (User) userService.loadUserByUsername(username);
 
             var tokenResponse = new TokenVO();
             if (user != null) {
-                tokenResponse = jwtTokenProvider.createAccessToken(username, user.getRoles());
+                tokenResponse = jwtTokenProvider.createAccessToken(username, user.getRoles(), issuer);
             } else {
                 throw new UsernameNotFoundException("Username " +username+ "not found!");
             }
@@ -49,12 +85,14 @@ public class AuthService {
     }
 
     @SuppressWarnings("rawtypes")
-    public ResponseEntity refreshToken(String username, String refreshToken) {
+    public ResponseEntity refreshToken(String username, String refreshToken, DecodedJWT decodedRefreshToken) {
         var user = repository.findByUsername(username);
 
         var tokenResponse = new TokenVO();
         if (user != null) {
-            tokenResponse = jwtTokenProvider.refreshToken(refreshToken);
+            tokenResponse = decodedRefreshToken != null
+                    ? jwtTokenProvider.refreshToken(decodedRefreshToken)
+                    : jwtTokenProvider.refreshToken(refreshToken);
         } else {
             throw new UsernameNotFoundException("Username " +username+ ".");
         }
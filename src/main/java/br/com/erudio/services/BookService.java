@@ -2,67 +2,106 @@ package br.com.erudio.services;
 
 import br.com.erudio.controllers.BookController;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.LeanPageVO;
+import br.com.erudio.execeptions.InvalidBulkRequestException;
 import br.com.erudio.execeptions.RequiredObjectIsNotNullException;
 import br.com.erudio.execeptions.ResourceNotFoundException;
 import br.com.erudio.mapper.DozerMapper;
 import br.com.erudio.model.book.Book;
 import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.repositories.BulkInsertRepository;
+import br.com.erudio.serialization.StreamedResponse;
+import br.com.erudio.util.LinkFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @Service
 public class BookService {
 
     @Autowired
     private BookRepository repository;
 
+    @Autowired
+    private BulkInsertRepository bulkRepository;
+
+    @Value("${book.bulk.max-rows:10000}")
+    private int maxBulkRows = 10000;
+
     public BookVO create(BookVO bookVO) {
         var entity = DozerMapper.parseObject(bookVO, Book.class);
         var vo = DozerMapper.parseObject(repository.save(entity), BookVO.class);
-        vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+        vo.add(LinkFactory.selfLink(BookController.class, vo.getKey()));
         return vo;
     }
 
+    /**
+     * Creates all books in one transaction with batched inserts and returns them with
+     * their generated ids, in the order they were given. At most {@code book.bulk.max-rows}
+     * books are taken per request.
+     */
+    @Transactional
+    public List<BookVO> createAll(List<BookVO> books) {
+        if (books == null || books.isEmpty() || books.contains(null)) throw new RequiredObjectIsNotNullException();
+        if (books.size() > maxBulkRows) {
+            throw new InvalidBulkRequestException("At most " + maxBulkRows + " books can be created at once!");
+        }
+
+        var entities = DozerMapper.parseListObjects(books, Book.class);
+        bulkRepository.insertBooks(entities);
+
+        var vos = DozerMapper.parseListObjects(entities, BookVO.class);
+        vos.forEach(vo -> vo.add(LinkFactory.selfLink(BookController.class, vo.getKey())));
+        return vos;
+    }
+
+    @Transactional(readOnly = true)
     public BookVO findById(Long id) {
-        var entity = repository.findById(id).orElseThrow(() ->
+        var vo = repository.findProjectedById(id).orElseThrow(() ->
                 new ResourceNotFoundException("No records found for this ID!"));
-        var vo = DozerMapper.parseObject(entity, BookVO.class);
-        vo.add(linkTo(methodOn(BookController.class).findById(id)).withSelfRel());
+        vo.add(LinkFactory.selfLink(BookController.class, id));
         return vo;
     }
 
-    public List<BookVO> findAll() {
-        var books = DozerMapper.parseListObjects(repository.findAll(), BookVO.class);
-        books
-                .stream()
-                .forEach(b -> b.add(linkTo(methodOn(BookController.class).findById(b.getKey())).withSelfRel()));
-        return books;
+    /**
+     * Streams every book, with its self link, to the writer. The read-only transaction
+     * and the cursor behind the stream stay open until the writer returns.
+     */
+    @Transactional(readOnly = true)
+    public void findAll(StreamedResponse.Writer<BookVO> writer) throws IOException {
+        try (var books = repository.streamAllProjectedBy()) {
+            writer.write(books.map(b -> b.add(LinkFactory.selfLink(BookController.class, b.getKey()))));
+        }
     }
 
+    @Transactional(readOnly = true)
+    public LeanPageVO<BookVO> findAllLean() {
+        return LeanPageVO.of(repository.findAllProjectedBy());
+    }
+
+    /**
+     * Updates the book with a single UPDATE; a zero row count means there is no such book.
+     */
+    @Transactional
     public BookVO update(BookVO bookVO) {
         if (bookVO == null) throw new RequiredObjectIsNotNullException();
 
-        var entity = repository.findById(bookVO.getKey()).orElseThrow(() ->
-                new ResourceNotFoundException("No records found for this ID!"));
-
-        entity.setAuthor(bookVO.getAuthor());
-        entity.setPrice(bookVO.getPrice());
-        entity.setLaunchDate(bookVO.getLaunchDate());
-        entity.setTitle(bookVO.getTitle());
-
+        var entity = DozerMapper.parseObject(bookVO, Book.class);
+        int updated = repository.updateBook(entity.getId(), entity.getAuthor(), entity.getLaunchDate(),
+                entity.getPrice(), entity.getTitle());
+        if (updated == 0) throw new ResourceNotFoundException("No records found for this ID!");
 
-        var vo = DozerMapper.parseObject(repository.save(entity), BookVO.class);
-        vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+        var vo = DozerMapper.parseObject(entity, BookVO.class);
+        vo.add(LinkFactory.selfLink(BookController.class, vo.getKey()));
         return vo;
     }
 
+    @Transactional
     public void delete(Long id) {
-        var entity = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-        repository.delete(entity);
+        if (repository.deleteBook(id) == 0) throw new ResourceNotFoundException("No records found for this ID!");
     }
 }
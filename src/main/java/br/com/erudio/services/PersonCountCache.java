@@ -0,0 +1,69 @@
+package br.com.erudio.services;
+
+import br.com.erudio.repositories.PersonRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Approximate number of people, so paged listings do not run a COUNT(*) per request.
+ * The count is refreshed on a fixed schedule, never served older than max-staleness
+ * and dropped whenever this application creates or deletes a person.
+ */
+@Component
+public class PersonCountCache {
+
+    private final Logger logger = Logger.getLogger(PersonCountCache.class.getName());
+
+    @Value("${person.count-cache.max-staleness:30000}")
+    private long maxStaleness = 30000;
+
+    @Autowired
+    private PersonRepository repository;
+
+    // bumped by invalidate(), so a count started before it is not stored after it
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public long get() {
+        var current = snapshot;
+        return isFresh(current) ? current.count() : load(false);
+    }
+
+    /** Drops the cached count, so the next lookup counts the table again. */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    @Scheduled(fixedDelayString = "${person.count-cache.refresh-interval:10000}")
+    public void refresh() {
+        load(true);
+    }
+
+    private synchronized long load(boolean force) {
+        // requests that queued up behind a count reuse its result
+        var current = snapshot;
+        if (!force && isFresh(current)) return current.count();
+
+        var startedAt = generation.get();
+        var takenAt = System.currentTimeMillis();
+        var count = repository.count();
+        if (generation.get() == startedAt) {
+            snapshot = new Snapshot(count, takenAt);
+        }
+        logger.fine("Counted " + count + " people");
+        return count;
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && System.currentTimeMillis() - current.takenAt() < maxStaleness;
+    }
+
+    private record Snapshot(long count, long takenAt) {}
+}
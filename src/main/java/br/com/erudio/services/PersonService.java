@@ -1,26 +1,55 @@
 package br.com.erudio.services;
 
 import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.vo.v1.BulkResultVO;
+import br.com.erudio.data.vo.v1.IdSetVO;
+import br.com.erudio.data.vo.v1.LeanPageVO;
+import br.com.erudio.data.vo.v1.PersonPagedModel;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.execeptions.InvalidBulkRequestException;
 import br.com.erudio.execeptions.RequiredObjectIsNotNullException;
 import br.com.erudio.execeptions.ResourceNotFoundException;
 import br.com.erudio.mapper.DozerMapper;
 import br.com.erudio.mapper.custom.PersonMapper;
 import br.com.erudio.model.person.Person;
+import br.com.erudio.repositories.BulkInsertRepository;
 import br.com.erudio.repositories.PersonRepository;
-import jakarta.transaction.Transactional;
+import br.com.erudio.repositories.PersonStreamRepository;
+import br.com.erudio.util.LinkFactory;
+import br.com.erudio.util.PersonCursor;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
-import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
-import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 @Service
@@ -28,41 +57,184 @@ public class PersonService {
     @Autowired
     private PersonRepository repository;
 
+    @Autowired
+    private PersonStreamRepository streamRepository;
+
+    @Autowired
+    private BulkInsertRepository bulkRepository;
+
+    @Autowired
+    private PersonCountCache countCache;
+
     @Autowired
     private PersonMapper mapper;
 
     @Autowired
     PagedResourcesAssembler<PersonVO> assembler;
 
+    @Value("${person.bulk.in-list-size:1000}")
+    private int inListSize = 1000;
+
+    @Value("${person.bulk.max-ids:100000}")
+    private int maxBulkIds = 100000;
+
+    @Value("${person.bulk.max-rows:10000}")
+    private int maxBulkRows = 10000;
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
     private Logger logger = Logger.getLogger(PersonService.class.getName());
 
-    public PagedModel<EntityModel<PersonVO>> findAll(Pageable pageable) {
+    /**
+     * Page of people. Unless exactTotal is set, the page is read as a Slice (size + 1
+     * rows, no COUNT) and the totals come from {@link PersonCountCache}, corrected so
+     * they never contradict what the slice itself shows.
+     */
+    @Transactional(readOnly = true)
+    public PersonPagedModel findAll(Pageable pageable, boolean exactTotal) {
         logger.info("Finding all people!");
 
-        var personPage = repository.findAll(pageable);
+        List<PersonVO> people;
+        long totalElements;
+        if (exactTotal) {
+            var page = repository.findAllProjectedBy(pageable);
+            people = page.getContent();
+            totalElements = page.getTotalElements();
+        } else {
+            var slice = repository.findAllSlicedBy(pageable);
+            people = slice.getContent();
+            totalElements = approximateTotal(slice);
+        }
 
-        var personVosPage = personPage.map(p -> DozerMapper.parseObject(p, PersonVO.class));
-
-        personVosPage.map(
-                p -> p.add(
-                        linkTo(methodOn(PersonController.class)
-                                .findById(p.getKey())).withSelfRel()));
+        people.forEach(p -> p.add(LinkFactory.selfLink(PersonController.class, p.getKey())));
 
         Link link = linkTo(
                 methodOn(PersonController.class)
                         .findAll(pageable.getPageNumber(),
                                 pageable.getPageSize(),
-                                "asc")).withSelfRel();
+                                "asc",
+                                exactTotal ? Boolean.TRUE : null)).withSelfRel();
+
+        // Page links only depend on the page metadata, so the items never get wrapped
+        var pageLinks = assembler.toModel(
+                new PageImpl<>(List.of(), pageable, totalElements), link);
 
-        return assembler.toModel(personVosPage, link);
+        return new PersonPagedModel(people, pageLinks.getMetadata(), pageLinks.getLinks());
     }
 
+    /** Total for a slice from {@link PersonCountCache}, corrected to agree with the slice. */
+    private long approximateTotal(Slice<PersonVO> slice) {
+        var offset = slice.getPageable().getOffset();
+        var seen = offset + slice.getNumberOfElements();
+        if (slice.hasNext()) return Math.max(countCache.get(), seen + 1);
+        // past the end: the offset only bounds the total, it is not the total
+        if (!slice.hasContent() && offset > 0) return Math.min(countCache.get(), offset);
+        return seen;
+    }
+
+    /**
+     * Keyset page of people ordered by first name and id. The cursor comes from the
+     * prev and next links of a previous page, an empty one starts the listing, so every
+     * page is an index range read of size + 1 rows, without OFFSET or COUNT.
+     */
+    @Transactional(readOnly = true)
+    public CollectionModel<PersonVO> findAllByCursor(String cursor, int size, Sort.Direction direction) {
+        logger.info("Finding people from a cursor!");
+
+        var position = PersonCursor.decode(cursor);
+        var backwards = position != null && position.backwards();
+        // a previous page is read walking the index the other way, then flipped
+        var scan = backwards ? (direction.isAscending() ? Sort.Direction.DESC : Sort.Direction.ASC) : direction;
+        var limit = PageRequest.of(0, size + 1, Sort.by(scan, "firstName", "id"));
+
+        List<PersonVO> slice;
+        if (position == null) {
+            slice = repository.findSliceProjectedBy(limit);
+        } else if (scan.isAscending()) {
+            slice = repository.findSliceProjectedAfter(position.firstName(), position.id(), limit);
+        } else {
+            slice = repository.findSliceProjectedBefore(position.firstName(), position.id(), limit);
+        }
+
+        var more = slice.size() > size;
+        var people = new ArrayList<>(more ? slice.subList(0, size) : slice);
+        if (backwards) Collections.reverse(people);
+        people.forEach(p -> p.add(LinkFactory.selfLink(PersonController.class, p.getKey())));
+
+        var order = direction.name().toLowerCase();
+        var links = new ArrayList<Link>();
+        links.add(cursorLink(cursor, size, order, IanaLinkRelations.SELF));
+        if (!people.isEmpty()) {
+            var first = people.get(0);
+            var last = people.get(people.size() - 1);
+            if (backwards ? more : position != null) {
+                links.add(cursorLink(PersonCursor.before(first.getFirstName(), first.getKey()).encode(),
+                        size, order, IanaLinkRelations.PREV));
+            }
+            if (backwards || more) {
+                links.add(cursorLink(PersonCursor.after(last.getFirstName(), last.getKey()).encode(),
+                        size, order, IanaLinkRelations.NEXT));
+            }
+        }
+        return CollectionModel.of(people, links);
+    }
+
+    private Link cursorLink(String cursor, int size, String direction, LinkRelation rel) {
+        return linkTo(methodOn(PersonController.class).findAllByCursor(cursor, size, direction)).withRel(rel);
+    }
+
+    /**
+     * Page of people without links, read as a Slice with the totals from
+     * {@link PersonCountCache}, like {@link #findAll(Pageable, boolean)}, so no COUNT runs.
+     */
+    @Transactional(readOnly = true)
+    public LeanPageVO<PersonVO> findAllLean(Pageable pageable) {
+        logger.info("Finding all people without links!");
+        var slice = repository.findAllSlicedBy(pageable);
+        return LeanPageVO.of(new PageImpl<>(slice.getContent(), pageable, approximateTotal(slice)));
+    }
+
+    /**
+     * Writes people as newline-delimited JSON, one object per row as it comes off the
+     * cursor, and returns how many were written. A null enabled exports everybody.
+     */
+    public long export(Boolean enabled, OutputStream out) throws IOException {
+        logger.info("Exporting people!");
+
+        var rows = new long[1];
+        try (var generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            streamRepository.forEach(enabled, rs -> {
+                try {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", rs.getLong(1));
+                    generator.writeStringField("firstName", rs.getString(2));
+                    generator.writeStringField("lastName", rs.getString(3));
+                    generator.writeStringField("address", rs.getString(4));
+                    generator.writeStringField("gender", rs.getString(5));
+                    generator.writeBooleanField("enabled", rs.getBoolean(6));
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        logger.info("Exported " + rows[0] + " people!");
+        return rows[0];
+    }
+
+    @Transactional(readOnly = true)
     public PersonVO findById(Long id) {
         logger.info("Finding one person!");
-        var entity = repository.findById(id).orElseThrow(
+        var vo = repository.findProjectedById(id).orElseThrow(
                 () -> new ResourceNotFoundException("No records found for this ID!"));
-        var vo =  DozerMapper.parseObject(entity, PersonVO.class);
-        vo.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+        vo.add(LinkFactory.selfLink(PersonController.class, id));
         return vo;
     }
 
@@ -74,10 +246,20 @@ public class PersonService {
         var entity = repository.findById(id).orElseThrow(
                 () -> new ResourceNotFoundException("No records found for this ID!"));
         var vo =  DozerMapper.parseObject(entity, PersonVO.class);
-        vo.add(linkTo(methodOn(PersonController.class).findById(id)).withSelfRel());
+        vo.add(LinkFactory.selfLink(PersonController.class, id));
         return vo;
     }
 
+    /**
+     * Disables every listed person with one UPDATE per chunk of {@code person.bulk.in-list-size}
+     * ids and one per range.
+     */
+    @Transactional
+    public BulkResultVO disableAll(IdSetVO idSet) {
+        logger.info("Disabling people in bulk!");
+        return bulk(idSet, repository::disablePeople, repository::disablePeopleBetween);
+    }
+
     public PersonVO create(PersonVO person) {
         if (person == null) throw new RequiredObjectIsNotNullException();
 
@@ -85,41 +267,161 @@ public class PersonService {
 
         var entity = DozerMapper.parseObject(person, Person.class);
         var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
-        vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+        countCache.invalidate();
+        vo.add(LinkFactory.selfLink(PersonController.class, vo.getKey()));
         return vo;
     }
+    /**
+     * Creates all people in one transaction with batched inserts and returns them with
+     * their generated ids, in the order they were given. At most {@code person.bulk.max-rows}
+     * people are taken per request.
+     */
+    @Transactional
+    public List<PersonVO> createAll(List<PersonVO> people) {
+        if (people == null || people.isEmpty() || people.contains(null)) throw new RequiredObjectIsNotNullException();
+        if (people.size() > maxBulkRows) {
+            throw new InvalidBulkRequestException("At most " + maxBulkRows + " people can be created at once!");
+        }
+
+        logger.info("Creating " + people.size() + " people");
+
+        var entities = DozerMapper.parseListObjects(people, Person.class);
+        bulkRepository.insertPeople(entities);
+        countCache.invalidate();
+
+        var vos = DozerMapper.parseListObjects(entities, PersonVO.class);
+        vos.forEach(vo -> vo.add(LinkFactory.selfLink(PersonController.class, vo.getKey())));
+        return vos;
+    }
+
     public PersonVOV2 createV2(PersonVOV2 personVOV2) {
         logger.info("Creating one person with V2");
 
         var entity = mapper.convertVOToEntity(personVOV2);
         var vo = mapper.convertEntityToVO(repository.save(entity));
+        countCache.invalidate();
         return vo;
     }
 
+    /**
+     * Updates the person with a single UPDATE, a zero row count meaning there is no such
+     * person, and reads it back through the projection. Unlike books, the request does not
+     * carry every column (enabled is only changed by disablePerson), so it can't stand in
+     * for the stored row.
+     */
+    @Transactional
     public PersonVO update(PersonVO person) {
         if (person == null) throw new RequiredObjectIsNotNullException();
 
         logger.info("Updating one person");
 
-        var entity = repository.findById(person.getKey()).orElseThrow(
-                () -> new ResourceNotFoundException("No records found for this ID!"));
+        int updated = repository.updatePerson(person.getKey(), person.getFirstName(), person.getLastName(),
+                person.getAddress(), person.getGender());
+        if (updated == 0) throw new ResourceNotFoundException("No records found for this ID!");
 
-        entity.setFirstName(person.getFirstName());
-        entity.setLastName(person.getLastName());
-        entity.setAddress(person.getAddress());
-        entity.setGender(person.getGender());
-
-        var vo = DozerMapper.parseObject(repository.save(entity), PersonVO.class);
-        vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+        var vo = repository.findProjectedById(person.getKey()).orElseThrow(
+                () -> new ResourceNotFoundException("No records found for this ID!"));
+        vo.add(LinkFactory.selfLink(PersonController.class, vo.getKey()));
         return vo;
     }
 
+    @Transactional
     public void delete(Long id) {
         logger.info("Deleting one person");
 
-        var entity = repository.findById(id).orElseThrow(
-                () -> new ResourceNotFoundException("No records for this ID!"));
-        repository.delete(entity);
+        if (repository.deletePerson(id) == 0) throw new ResourceNotFoundException("No records for this ID!");
+        countCache.invalidate();
+    }
+
+    /**
+     * Deletes every listed person with one DELETE per chunk of {@code person.bulk.in-list-size}
+     * ids and one per range.
+     */
+    @Transactional
+    public BulkResultVO deleteAll(IdSetVO idSet) {
+        logger.info("Deleting people in bulk");
+
+        var result = bulk(idSet, repository::deletePeople, repository::deletePeopleBetween);
+        if (!result.affectedIds().isEmpty()) countCache.invalidate();
+        return result;
+    }
+
+    /**
+     * Runs a set based statement over the requested ids. Overlapping ranges are merged and
+     * listed ids already covered by a range dropped, so no id is reported twice; the ids
+     * each statement will touch are read first to tell affected from missing ones.
+     */
+    private BulkResultVO bulk(IdSetVO idSet, Consumer<Collection<Long>> byIds, BiConsumer<Long, Long> byRange) {
+        if (idSet == null) throw new RequiredObjectIsNotNullException();
+
+        var ranges = mergeRanges(idSet.ranges());
+        var ids = new TreeSet<Long>();
+        if (idSet.ids() != null) {
+            for (Long id : idSet.ids()) {
+                if (id == null) throw new InvalidBulkRequestException("Ids must not be null!");
+                if (!isCovered(ranges, id)) ids.add(id);
+            }
+        }
+        long requested = ids.size();
+        for (long[] range : ranges) {
+            long span = range[1] - range[0];
+            if (Long.compareUnsigned(span, maxBulkIds) >= 0) requested = Long.MAX_VALUE;
+            else requested += span + 1;
+            if (requested > maxBulkIds) break;
+        }
+        if (requested == 0) throw new InvalidBulkRequestException("No ids were given!");
+        if (requested > maxBulkIds) {
+            throw new InvalidBulkRequestException("At most " + maxBulkIds + " ids can be changed at once!");
+        }
+
+        var affected = new TreeSet<Long>();
+        var missing = new TreeSet<Long>();
+        var chunk = new ArrayList<Long>(Math.min(ids.size(), inListSize));
+        for (var iterator = ids.iterator(); iterator.hasNext(); ) {
+            chunk.add(iterator.next());
+            if (chunk.size() == inListSize || !iterator.hasNext()) {
+                var existing = repository.findExistingIds(chunk);
+                if (!existing.isEmpty()) byIds.accept(existing);
+                affected.addAll(existing);
+                chunk.forEach(id -> { if (!affected.contains(id)) missing.add(id); });
+                chunk.clear();
+            }
+        }
+        for (long[] range : ranges) {
+            var existing = new HashSet<>(repository.findExistingIdsBetween(range[0], range[1]));
+            if (!existing.isEmpty()) byRange.accept(range[0], range[1]);
+            affected.addAll(existing);
+            for (long offset = 0, span = range[1] - range[0]; offset <= span; offset++) {
+                if (!existing.contains(range[0] + offset)) missing.add(range[0] + offset);
+            }
+        }
+        return new BulkResultVO(new ArrayList<>(affected), new ArrayList<>(missing));
+    }
+
+    private List<long[]> mergeRanges(List<IdSetVO.IdRange> ranges) {
+        var merged = new ArrayList<long[]>();
+        if (ranges == null) return merged;
+        var sorted = new ArrayList<long[]>(ranges.size());
+        for (var range : ranges) {
+            if (range == null || range.from() == null || range.to() == null || range.from() > range.to()) {
+                throw new InvalidBulkRequestException("Ranges need a from not greater than their to!");
+            }
+            sorted.add(new long[]{range.from(), range.to()});
+        }
+        sorted.sort(Comparator.comparingLong(range -> range[0]));
+        for (long[] range : sorted) {
+            var last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] - 1 <= last[1]) last[1] = Math.max(last[1], range[1]);
+            else merged.add(range);
+        }
+        return merged;
+    }
+
+    private boolean isCovered(List<long[]> ranges, long id) {
+        for (long[] range : ranges) {
+            if (id >= range[0] && id <= range[1]) return true;
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,62 @@
+package br.com.erudio.services;
+
+import br.com.erudio.model.permission.Permission;
+import br.com.erudio.model.user.User;
+import br.com.erudio.security.jwt.AccountStatusCache;
+import br.com.erudio.security.jwt.VerifiedTokenCache;
+import br.com.erudio.security.permission.PermissionRegistry;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA entity listener that drops cached user details, the authentications cached for
+ * verified tokens and the loaded permission table whenever a User or a Permission row
+ * changes. Instantiated by Hibernate through
+ * Spring's bean container, hence the lazily resolved collaborators.
+ * <p>
+ * Only entity writes reach it: inserts or deletes on the user_permission join table
+ * made outside the entity, and JPQL or native bulk updates, bypass the listener and
+ * must call {@link UserService#evict(User)} or {@link UserService#evictAll()}
+ * themselves. The application has no such write path today; anything else changing
+ * those tables is only picked up once the cache TTL runs out.
+ */
+public class UserCacheInvalidationListener {
+
+    @Autowired
+    private ObjectProvider<UserService> userService;
+
+    @Autowired
+    private ObjectProvider<AccountStatusCache> accountStatusCache;
+
+    @Autowired
+    private ObjectProvider<PermissionRegistry> permissionRegistry;
+
+    @Autowired
+    private ObjectProvider<VerifiedTokenCache> verifiedTokenCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            userService.ifAvailable(service -> service.evict(user));
+            accountStatusCache.ifAvailable(cache -> cache.invalidate(user.getUserName()));
+            verifiedTokenCache.ifAvailable(cache -> cache.invalidateSubject(user.getUserName()));
+        } else if (entity instanceof Permission) {
+            userService.ifAvailable(UserService::evictAll);
+            permissionRegistry.ifAvailable(PermissionRegistry::invalidate);
+            verifiedTokenCache.ifAvailable(VerifiedTokenCache::invalidateAll);
+        }
+    }
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        if (entity instanceof Permission) {
+            userService.ifAvailable(UserService::evictAll);
+            permissionRegistry.ifAvailable(PermissionRegistry::invalidate);
+            verifiedTokenCache.ifAvailable(VerifiedTokenCache::invalidateAll);
+        }
+    }
+}
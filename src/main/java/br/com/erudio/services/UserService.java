@@ -1,34 +1,119 @@
 package br.com.erudio.services;
 
+import br.com.erudio.model.user.User;
 import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.security.permission.PermissionRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private Logger logger = Logger.getLogger(UserService.class.getName());
 
+    @Value("${security.user-cache.ttl:300000}")
+    private long ttlInMilliseconds = 300000;
+
+    @Value("${security.user-cache.max-size:10000}")
+    private long maximumSize = 10000;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PermissionRegistry permissionRegistry;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private LoadingCache<String, User> cache;
+
+    // cached usernames by user id, so a renamed user is evicted under its old name
+    private final Map<Long, String> usernamesById = new ConcurrentHashMap<>();
+
     public UserService(UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
+    @PostConstruct
+    protected void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttlInMilliseconds))
+                .removalListener((String username, User user, RemovalCause cause) -> {
+                    if (user != null && user.getId() != null && !cache.asMap().containsKey(username)) {
+                        usernamesById.remove(user.getId(), username);
+                    }
+                })
+                .recordStats()
+                .build(this::findUser);
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.details.cache");
+        }
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        logger.info("Finding one user by name " + username + "!");
-        var user = userRepository.findByUsername(username);
+        var user = cache.get(username);
         if (user != null) {
             return user;
         } else {
             throw new UsernameNotFoundException("Username " + username + "not found");
         }
     }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        logger.info("Upgrading the password encoding of one user!");
+        var entity = userRepository.findByUsername(user.getUsername());
+        if (entity == null) return user;
+        entity.setPassword(newPassword);
+        var saved = userRepository.save(entity);
+        evict(saved);
+        return resolveAuthorities(saved);
+    }
+
+    public void evict(User user) {
+        if (user.getUserName() != null) cache.invalidate(user.getUserName());
+        if (user.getId() != null) {
+            var cachedName = usernamesById.remove(user.getId());
+            if (cachedName != null) cache.invalidate(cachedName);
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        usernamesById.clear();
+    }
+
+    private User findUser(String username) {
+        logger.fine(() -> "Finding one user by name " + username + "!");
+        return resolveAuthorities(userRepository.findByUsername(username));
+    }
+
+    private User resolveAuthorities(User user) {
+        if (user != null) {
+            user.setAuthoritySet(permissionRegistry.resolve(userRepository.findPermissionIds(user.getId())));
+            if (user.getId() != null && user.getUserName() != null) usernamesById.put(user.getId(), user.getUserName());
+        }
+        return user;
+    }
 }
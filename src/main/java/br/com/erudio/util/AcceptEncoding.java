@@ -0,0 +1,41 @@
+package br.com.erudio.util;
+
+import java.util.Locale;
+
+/**
+ * Reads an Accept-Encoding header (RFC 9110, section 12.5.3): a comma separated list of
+ * codings with optional q-values, where q=0 refuses a coding and {@code *} stands for
+ * any coding not listed.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {}
+
+    /** Whether the header accepts the coding, listed by name or through {@code *}, with q > 0. */
+    public static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) return false;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parameters = element.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parameters);
+            if (name.equals(coding)) return quality > 0;
+            if (name.equals("*")) wildcard = quality;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.length() > 2 && parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
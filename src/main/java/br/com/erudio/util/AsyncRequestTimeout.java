@@ -0,0 +1,33 @@
+package br.com.erudio.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Per request timeout for async handlers that cannot carry their own, such as a
+ * {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody}.
+ * The handler records the timeout with {@link #set(HttpServletRequest, long)} and this
+ * interceptor applies it right before async processing starts; every other request
+ * keeps the global spring.mvc.async.request-timeout.
+ */
+public class AsyncRequestTimeout implements CallableProcessingInterceptor {
+
+    private static final String ATTRIBUTE = AsyncRequestTimeout.class.getName() + ".TIMEOUT";
+
+    public static void set(HttpServletRequest request, long timeoutInMilliseconds) {
+        request.setAttribute(ATTRIBUTE, timeoutInMilliseconds);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncRequest
+                && request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long timeout) {
+            asyncRequest.setTimeout(timeout);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.erudio.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.hateoas.Link;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/**
+ * Builds the self links of VOs, {@code linkTo(methodOn(controller).findById(id)).withSelfRel()},
+ * without going through WebMvcLinkBuilder for every element. The link of the controller's
+ * findById for a sentinel id is resolved once per controller and base URI, and ids are
+ * appended to its prefix. The base URI is resolved once per request.
+ */
+public final class LinkFactory {
+
+    private static final String BASE_URI_ATTRIBUTE = LinkFactory.class.getName() + ".BASE_URI";
+
+    private static final long SENTINEL = Long.MIN_VALUE;
+
+    // base URIs come from the Host header, so keep the cache from growing without bound
+    private static final int MAX_TEMPLATES = 1024;
+
+    private static final ConcurrentHashMap<TemplateKey, String> templates = new ConcurrentHashMap<>();
+
+    private LinkFactory() {}
+
+    public static Link selfLink(Class<?> controller, Long id) {
+        return Link.of(prefix(controller) + id);
+    }
+
+    private static String prefix(Class<?> controller) {
+        var key = new TemplateKey(controller, baseUri());
+        var prefix = templates.get(key);
+        if (prefix != null) return prefix;
+        if (templates.size() >= MAX_TEMPLATES) templates.clear();
+        return templates.computeIfAbsent(key, k -> {
+            String href = linkTo(controller, findById(controller), SENTINEL).withSelfRel().getHref();
+            return href.substring(0, href.length() - Long.toString(SENTINEL).length());
+        });
+    }
+
+    private static Method findById(Class<?> controller) {
+        try {
+            return controller.getMethod("findById", Long.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(controller.getSimpleName() + " has no findById(Long) method!", e);
+        }
+    }
+
+    private static String baseUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) return "";
+        HttpServletRequest request = servletAttributes.getRequest();
+        var baseUri = (String) request.getAttribute(BASE_URI_ATTRIBUTE);
+        if (baseUri == null) {
+            baseUri = ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString();
+            request.setAttribute(BASE_URI_ATTRIBUTE, baseUri);
+        }
+        return baseUri;
+    }
+
+    private record TemplateKey(Class<?> controller, String baseUri) {}
+}
@@ -4,4 +4,6 @@ public class MediaType {
     public static final String APPLICATION_JSON = "application/json";
     public static final String APPLICATION_XML = "application/xml";
     public static final String APPLICATION_YML = "application/x-yaml";
+    public static final String APPLICATION_JSON_LEAN = "application/vnd.erudio.lean+json";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
 }
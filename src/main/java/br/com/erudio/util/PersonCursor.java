@@ -0,0 +1,50 @@
+package br.com.erudio.util;
+
+import br.com.erudio.execeptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the person listing ordered by (first_name, id), handed to clients as an
+ * opaque token. A backwards cursor reads the page that ends right before the position,
+ * a forward one the page that starts right after it.
+ */
+public record PersonCursor(String firstName, long id, boolean backwards) {
+
+    public static PersonCursor after(String firstName, long id) {
+        return new PersonCursor(firstName, id, false);
+    }
+
+    public static PersonCursor before(String firstName, long id) {
+        return new PersonCursor(firstName, id, true);
+    }
+
+    public String encode() {
+        // the name goes last, it is the only part that may contain the separator
+        var raw = (backwards ? "p:" : "n:") + id + ":" + firstName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}. A null or empty token is the
+     * start of the listing and decodes to null.
+     */
+    public static PersonCursor decode(String token) {
+        if (token == null || token.isEmpty()) return null;
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':', 2);
+            if (separator < 0 || raw.charAt(1) != ':') throw new InvalidCursorException();
+            boolean backwards = switch (raw.charAt(0)) {
+                case 'n' -> false;
+                case 'p' -> true;
+                default -> throw new InvalidCursorException();
+            };
+            return new PersonCursor(raw.substring(separator + 1),
+                    Long.parseLong(raw, 2, separator, 10), backwards);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.erudio.junittest.mockito.controllers;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.services.PersonService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class PersonControllerTest {
+
+    private static final String LINE = "{\"id\":1}\n";
+
+    @InjectMocks
+    private PersonController controller;
+
+    @Mock
+    PersonService personService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(LINE.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(personService).export(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Checks that the export is gzip encoded when gzip or * is accepted with q > 0")
+    void testExportGzip() throws Exception {
+        for (var acceptEncoding : new String[] {"gzip", "deflate, GZIP;q=0.5", "br;q=1.0, *;q=0.1"}) {
+            var result = export(acceptEncoding);
+
+            assertEquals("gzip", result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            var body = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()));
+            assertEquals(LINE, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Checks that the export is not gzip encoded when gzip is refused with q=0 or not accepted")
+    void testExportWithGzipRefused() throws Exception {
+        for (var acceptEncoding : new String[] {"gzip;q=0", "identity, gzip; q=0.0, *", "*;q=0", "deflate", ""}) {
+            var result = export(acceptEncoding);
+
+            assertNull(result.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+            assertEquals(LINE, result.getResponse().getContentAsString(), acceptEncoding);
+        }
+    }
+
+    private MvcResult export(String acceptEncoding) throws Exception {
+        var started = mockMvc.perform(get("/api/person/v1/export").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn();
+    }
+}
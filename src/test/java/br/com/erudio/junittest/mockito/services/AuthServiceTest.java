@@ -0,0 +1,192 @@
+package br.com.erudio.junittest.mockito.services;
+
+import br.com.erudio.data.vo.v1.AccountCredentialsVO;
+import br.com.erudio.data.vo.v1.TokenVO;
+import br.com.erudio.execeptions.ServiceUnavailableException;
+import br.com.erudio.model.user.User;
+import br.com.erudio.security.jwt.JwtKeyRing;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.RoleBitmaskCodec;
+import br.com.erudio.security.jwt.TokenProfile;
+import br.com.erudio.security.password.PasswordHashingExecutor;
+import br.com.erudio.services.AuthService;
+import br.com.erudio.services.UserService;
+import com.auth0.jwt.JWT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @InjectMocks
+    private AuthService service;
+
+    @Mock
+    AuthenticationManager authenticationManager;
+
+    @Mock
+    UserService userService;
+
+    @Spy
+    JwtTokenProvider jwtTokenProvider = new JwtTokenProvider();
+
+    @Spy
+    PasswordHashingExecutor passwordHashingExecutor = new PasswordHashingExecutor();
+
+    @BeforeEach
+    void setUp() {
+        var keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "secretKey", "53cr37");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+        ReflectionTestUtils.setField(jwtTokenProvider, "keyRing", keyRing);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "maxConcurrency", 1);
+        ReflectionTestUtils.invokeMethod(passwordHashingExecutor, "init");
+        ReflectionTestUtils.setField(service, "taskExecutor", new SimpleAsyncTaskExecutor("task-"));
+
+        var request = new MockHttpServletRequest();
+        request.setServerName("erudio.com.br");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        ReflectionTestUtils.invokeMethod(passwordHashingExecutor, "shutdown");
+    }
+
+    @Test
+    @DisplayName("Checks that a sign in verified on the hashing pool gets the issuer of its request")
+    void testSignin() throws Exception {
+        var user = mock(User.class);
+        var loadedOn = new AtomicReference<String>();
+        when(user.getRoles()).thenReturn(List.of("ADMIN"));
+        when(userService.loadUserByUsername("leandro")).thenAnswer(invocation -> {
+            loadedOn.set(Thread.currentThread().getName());
+            return user;
+        });
+        when(authenticationManager.authenticate(any())).thenReturn(
+                new UsernamePasswordAuthenticationToken("leandro", "admin123", List.of()));
+
+        var response = service.signin(credentials()).get(5, TimeUnit.SECONDS);
+
+        var token = (TokenVO) response.getBody();
+        assertNotNull(token);
+        assertEquals("leandro", token.getUsername());
+        assertEquals("http://erudio.com.br", JWT.decode(token.getAccessToken()).getIssuer());
+        assertTrue(loadedOn.get().startsWith("task-"));
+    }
+
+    @Test
+    @DisplayName("Checks that the compact profile takes its issuer from configuration and requires it")
+    void testSigninWithCompactProfile() throws Exception {
+        var roleCodec = mock(RoleBitmaskCodec.class);
+        when(roleCodec.encode(List.of("ADMIN"))).thenReturn("AQ");
+        ReflectionTestUtils.setField(jwtTokenProvider, "roleCodec", roleCodec);
+        ReflectionTestUtils.setField(jwtTokenProvider, "tokenProfile", TokenProfile.COMPACT);
+        assertThrows(IllegalStateException.class, () -> ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init"));
+
+        ReflectionTestUtils.setField(jwtTokenProvider, "issuer", "https://erudio.com.br");
+        ReflectionTestUtils.invokeMethod(jwtTokenProvider, "init");
+        RequestContextHolder.resetRequestAttributes();
+        var user = mock(User.class);
+        when(user.getRoles()).thenReturn(List.of("ADMIN"));
+        when(userService.loadUserByUsername("leandro")).thenReturn(user);
+
+        var token = (TokenVO) service.signin(credentials()).get(5, TimeUnit.SECONDS).getBody();
+
+        assertNotNull(token);
+        assertEquals("https://erudio.com.br", JWT.decode(token.getAccessToken()).getIssuer());
+    }
+
+    @Test
+    @DisplayName("Checks that a wrong password fails the future with bad credentials")
+    void testSigninWithWrongPassword() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        var exception = assertThrows(ExecutionException.class,
+                () -> service.signin(credentials()).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BadCredentialsException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Checks that a sign in is refused with service unavailable when the hashing pool is full")
+    void testSigninWhenHashingPoolIsFull() throws Exception {
+        var release = restartHashingPool(0, 2000);
+
+        var running = service.signin(credentials());
+        var exception = assertThrows(ExecutionException.class,
+                () -> service.signin(credentials()).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+
+        release.countDown();
+        assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Checks that a sign in that waited past the queue timeout is refused without hashing")
+    void testSigninWhenQueueTimeoutExpires() throws Exception {
+        var release = restartHashingPool(1, 50);
+
+        var running = service.signin(credentials());
+        verify(authenticationManager, timeout(5000)).authenticate(any());
+        var queued = service.signin(credentials());
+        Thread.sleep(200);
+        release.countDown();
+
+        var exception = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+        assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+        verify(authenticationManager, times(1)).authenticate(any());
+    }
+
+    /**
+     * Restarts the single worker hashing pool with the given queue, and makes the password
+     * check block until the returned latch is released.
+     */
+    private CountDownLatch restartHashingPool(int queueCapacity, long queueTimeout) {
+        ReflectionTestUtils.invokeMethod(passwordHashingExecutor, "shutdown");
+        ReflectionTestUtils.setField(passwordHashingExecutor, "queueCapacity", queueCapacity);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "queueTimeoutInMilliseconds", queueTimeout);
+        ReflectionTestUtils.invokeMethod(passwordHashingExecutor, "init");
+
+        var release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new BadCredentialsException("Bad credentials");
+        });
+        return release;
+    }
+
+    private AccountCredentialsVO credentials() {
+        return new AccountCredentialsVO("leandro", "admin123");
+    }
+}
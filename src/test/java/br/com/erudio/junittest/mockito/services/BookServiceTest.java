@@ -1,8 +1,11 @@
 package br.com.erudio.junittest.mockito.services;
 
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.execeptions.InvalidBulkRequestException;
+import br.com.erudio.execeptions.ResourceNotFoundException;
 import br.com.erudio.model.book.Book;
 import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.repositories.BulkInsertRepository;
 import br.com.erudio.services.BookService;
 import br.com.erudio.unittests.mapper.mocks.BookMock;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +17,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +43,9 @@ class BookServiceTest {
     @Mock
     private BookRepository repository;
 
+    @Mock
+    private BulkInsertRepository bulkRepository;
+
     @BeforeEach
     void setUpMock() throws Exception {
         bookMock = new BookMock();
@@ -73,10 +85,10 @@ class BookServiceTest {
     @Test
     @DisplayName("Test find book by id successfully ")
     void findById() {
-        Book book = bookMock.mockEntity(1);
-        book.setId(1L);
+        BookVO book = bookMock.mockVO(1);
+        book.setKey(1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(book));
+        when(repository.findProjectedById(1L)).thenReturn(Optional.of(book));
 
         var result = service.findById(1L);
         LocalDate localDate = LocalDate.of(2022, 11, 11);
@@ -97,12 +109,13 @@ class BookServiceTest {
 
     @Test
     @DisplayName("Test by reading all books successfully")
-    void findAll() {
-        List<Book> list = bookMock.mockListEntity();
+    void findAll() throws Exception {
+        List<BookVO> list = bookMock.mockListVO();
 
-        when(repository.findAll()).thenReturn(list);
+        when(repository.streamAllProjectedBy()).thenReturn(list.stream());
 
-        var book = service.findAll();
+        List<BookVO> book = new ArrayList<>();
+        service.findAll(books -> books.forEach(book::add));
 
         assertNotNull(book);
         assertEquals(14, book.size());
@@ -142,15 +155,10 @@ class BookServiceTest {
     @Test
     @DisplayName("Test updating book successfully")
     void update() {
-        Book entity = bookMock.mockEntity(1);
-        Book pesisted = entity;
-        pesisted.setId(1L);
-
         BookVO vo = bookMock.mockVO(1);
         vo.setKey(1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
-        when(repository.save(entity)).thenReturn(pesisted);
+        when(repository.updateBook(1L, vo.getAuthor(), vo.getLaunchDate(), vo.getPrice(), vo.getTitle())).thenReturn(1);
 
 
         var result = service.update(vo);
@@ -173,11 +181,39 @@ class BookServiceTest {
     @Test
     @DisplayName("Test deleting Book successfully")
     void delete() {
-        Book entity = bookMock.mockEntity(1);
-        entity.setId(1L);
-
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
+        when(repository.deleteBook(1L)).thenReturn(1);
 
         service.delete(1L);
+        assertThrows(ResourceNotFoundException.class, () -> service.delete(2L));
+    }
+
+    @Test
+    @DisplayName("Test creating many books at once")
+    void createAll() {
+        doAnswer(invocation -> {
+            List<Book> entities = invocation.getArgument(0);
+            long id = 100;
+            for (Book entity : entities) entity.setId(id++);
+            return null;
+        }).when(bulkRepository).insertBooks(any());
+
+        var result = service.createAll(bookMock.mockListVO().subList(0, 2));
+
+        assertEquals(2, result.size());
+        assertEquals(101L, result.get(1).getKey());
+        assertEquals("Title : 1", result.get(1).getTitle());
+        assertTrue(result.get(1).toString().contains("links: [</api/books/v1/101>;rel=\"self\"]"));
+    }
+
+    @Test
+    @DisplayName("Test creating more books than book.bulk.max-rows at once")
+    void createAllOverTheLimit() {
+        ReflectionTestUtils.setField(service, "maxBulkRows", 1);
+        try {
+            assertThrows(InvalidBulkRequestException.class, () -> service.createAll(bookMock.mockListVO().subList(0, 2)));
+            verify(bulkRepository, never()).insertBooks(any());
+        } finally {
+            ReflectionTestUtils.setField(service, "maxBulkRows", 10000);
+        }
     }
-}
\ No newline at end of file
+}
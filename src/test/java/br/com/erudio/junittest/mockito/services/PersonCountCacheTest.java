@@ -0,0 +1,55 @@
+package br.com.erudio.junittest.mockito.services;
+
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonCountCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersonCountCacheTest {
+
+    @InjectMocks
+    private PersonCountCache cache;
+
+    @Mock
+    PersonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxStaleness", 60000L);
+    }
+
+    @Test
+    @DisplayName("Checks that the count is reused until it is invalidated")
+    void testInvalidate() {
+        when(repository.count()).thenReturn(14L, 15L);
+
+        assertEquals(14L, cache.get());
+        assertEquals(14L, cache.get());
+        verify(repository, times(1)).count();
+
+        cache.invalidate();
+
+        assertEquals(15L, cache.get());
+        verify(repository, times(2)).count();
+    }
+
+    @Test
+    @DisplayName("Checks that a count older than max-staleness is never served")
+    void testMaxStaleness() {
+        ReflectionTestUtils.setField(cache, "maxStaleness", 0L);
+        when(repository.count()).thenReturn(14L, 15L);
+
+        assertEquals(14L, cache.get());
+        assertEquals(15L, cache.get());
+    }
+}
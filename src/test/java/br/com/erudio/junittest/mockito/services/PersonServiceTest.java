@@ -1,10 +1,18 @@
 package br.com.erudio.junittest.mockito.services;
 
+import br.com.erudio.data.vo.v1.IdSetVO;
+import br.com.erudio.data.vo.v1.LeanPageVO;
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.execeptions.InvalidBulkRequestException;
 import br.com.erudio.execeptions.RequiredObjectIsNotNullException;
+import br.com.erudio.execeptions.ResourceNotFoundException;
 import br.com.erudio.model.person.Person;
+import br.com.erudio.repositories.BulkInsertRepository;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.repositories.PersonStreamRepository;
+import br.com.erudio.services.PersonCountCache;
 import br.com.erudio.services.PersonService;
+import br.com.erudio.util.PersonCursor;
 import br.com.erudio.unittests.mapper.mocks.PersonMock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,13 +21,31 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -33,6 +59,19 @@ class PersonServiceTest {
     @Mock
     PersonRepository repository;
 
+    @Mock
+    PersonStreamRepository streamRepository;
+
+    @Mock
+    PersonCountCache countCache;
+
+    @Mock
+    BulkInsertRepository bulkRepository;
+
+    @Spy
+    PagedResourcesAssembler<PersonVO> assembler =
+            new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+
     @BeforeEach
     void setUpMock() throws Exception {
         input = new PersonMock();
@@ -85,10 +124,10 @@ class PersonServiceTest {
     @Test
     @DisplayName("Checks that the link is not null and is correct")
     void testFindById() {
-        Person person = input.mockEntity(1);
-        person.setId(1L);
+        PersonVO person = input.mockVO(1);
+        person.setKey(1L);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(person));
+        when(repository.findProjectedById(1L)).thenReturn(Optional.of(person));
 
         var result = service.findById(1l);
         assertNotNull(result);
@@ -139,15 +178,15 @@ class PersonServiceTest {
     @Test
     @DisplayName("Checks if the update method has all the correct information")
     void testUpdate() {
-        Person entity = input.mockEntity(1);
-        Person persisted = entity;
-        persisted.setId(1L);
-
         PersonVO vo = input.mockVO(1);
         vo.setKey(1L);
+        vo.setEnabled(false);
 
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
-        when(repository.save(entity)).thenReturn(persisted);
+        var stored = input.mockVO(1);
+        stored.setEnabled(true);
+
+        when(repository.updatePerson(1L, "First Name: 1", "Last Name: 1", "Address: 1", "Female")).thenReturn(1);
+        when(repository.findProjectedById(1L)).thenReturn(Optional.of(stored));
 
         var result = service.update(vo);
         assertNotNull(result);
@@ -158,6 +197,7 @@ class PersonServiceTest {
         assertEquals("Last Name: 1", result.getLastName());
         assertEquals("First Name: 1", result.getFirstName());
         assertEquals("Female", result.getGender());
+        assertTrue(result.getEnabled());
     }
 
     @Test
@@ -176,11 +216,207 @@ class PersonServiceTest {
     @Test
     @DisplayName("Checks if the person was deleted successfully")
     void TestDelete() {
-        Person entity = input.mockEntity(1);
-        entity.setId(1L);
-
-        when(repository.findById(1L)).thenReturn(Optional.of(entity));
+        when(repository.deletePerson(1L)).thenReturn(1);
 
         service.delete(1L);
+        verify(countCache).invalidate();
+    }
+
+    @Test
+    @DisplayName("Checks that updating or deleting a missing person is still reported as not found")
+    void testUpdateAndDeleteNotFound() {
+        PersonVO vo = input.mockVO(1);
+        vo.setKey(1L);
+
+        assertThrows(ResourceNotFoundException.class, () -> service.update(vo));
+        assertThrows(ResourceNotFoundException.class, () -> service.delete(1L));
+        verify(repository, never()).findProjectedById(any());
+        verify(countCache, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName("Checks that the export writes one JSON object per line")
+    void testExport() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(1L, 2L);
+        when(rs.getString(2)).thenReturn("First Name: 1", "First Name: 2");
+        when(rs.getString(3)).thenReturn("Last Name: 1", "Last Name: 2");
+        when(rs.getString(4)).thenReturn("Address: 1", "Address: 2");
+        when(rs.getString(5)).thenReturn("Female", "Male");
+        when(rs.getBoolean(6)).thenReturn(true, false);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(streamRepository).forEach(eq(null), any());
+
+        var out = new ByteArrayOutputStream();
+        assertEquals(2, service.export(null, out));
+        assertEquals("{\"id\":1,\"firstName\":\"First Name: 1\",\"lastName\":\"Last Name: 1\",\"address\":\"Address: 1\",\"gender\":\"Female\",\"enabled\":true}\n"
+                + "{\"id\":2,\"firstName\":\"First Name: 2\",\"lastName\":\"Last Name: 2\",\"address\":\"Address: 2\",\"gender\":\"Male\",\"enabled\":false}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Checks that the first keyset page links only to the next one")
+    void testFindAllByCursorFirstPage() {
+        var people = input.mockVoList();
+        when(repository.findSliceProjectedBy(PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "firstName", "id"))))
+                .thenReturn(new ArrayList<>(people.subList(0, 3)));
+
+        var result = service.findAllByCursor("", 2, Sort.Direction.ASC);
+
+        assertEquals(List.of(0L, 1L), result.getContent().stream().map(PersonVO::getKey).toList());
+        assertTrue(result.getLink("prev").isEmpty());
+        var next = result.getRequiredLink("next").getHref();
+        var cursor = PersonCursor.decode(next.replaceAll(".*cursor=([^&]+).*", "$1"));
+        assertEquals(PersonCursor.after("First Name: 1", 1L), cursor);
+    }
+
+    @Test
+    @DisplayName("Checks that a previous keyset page is read backwards and returned in order")
+    void testFindAllByCursorBackwards() {
+        var people = input.mockVoList();
+        // walking back from person 5 in ascending order reads 4, 3 and 2 in descending order
+        when(repository.findSliceProjectedBefore("First Name: 5", 5L,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "firstName", "id"))))
+                .thenReturn(new ArrayList<>(List.of(people.get(4), people.get(3), people.get(2))));
+
+        var result = service.findAllByCursor(PersonCursor.before("First Name: 5", 5L).encode(), 2, Sort.Direction.ASC);
+
+        assertEquals(List.of(3L, 4L), result.getContent().stream().map(PersonVO::getKey).toList());
+        assertTrue(result.getLink("prev").isPresent());
+        assertTrue(result.getLink("next").isPresent());
+        assertTrue(result.getContent().iterator().next().toString().contains("links: [</api/person/v1/3>;rel=\"self\"]"));
+    }
+
+    @Test
+    @DisplayName("Checks that a page read as a slice takes its total from the count cache")
+    void testFindAllWithApproximateTotal() {
+        var pageable = PageRequest.of(1, 4, Sort.by("firstName"));
+        when(repository.findAllSlicedBy(pageable))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(input.mockVoList().subList(4, 8)), pageable, true));
+        when(countCache.get()).thenReturn(40L);
+
+        var result = service.findAll(pageable, false);
+
+        assertEquals(4, result.people().size());
+        assertEquals(40L, result.getMetadata().getTotalElements());
+        assertTrue(result.getNextLink().isPresent());
+        verify(repository, never()).findAllProjectedBy(any());
+    }
+
+    @Test
+    @DisplayName("Checks that the last slice gets an exact total whatever the count cache holds")
+    void testFindAllLastSlice() {
+        var pageable = PageRequest.of(2, 4, Sort.by("firstName"));
+        when(repository.findAllSlicedBy(pageable))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(input.mockVoList().subList(8, 10)), pageable, false));
+
+        var result = service.findAll(pageable, false);
+
+        assertEquals(10L, result.getMetadata().getTotalElements());
+        assertTrue(result.getNextLink().isEmpty());
+        verify(countCache, never()).get();
+    }
+
+    @Test
+    @DisplayName("Checks that a page past the end takes its total from the count cache, not from the offset")
+    void testFindAllPastTheEnd() {
+        var pageable = PageRequest.of(5, 12, Sort.by("firstName"));
+        when(repository.findAllSlicedBy(pageable)).thenReturn(new SliceImpl<>(new ArrayList<>(), pageable, false));
+        when(countCache.get()).thenReturn(10L);
+
+        var result = service.findAll(pageable, false);
+
+        assertTrue(result.people().isEmpty());
+        assertEquals(10L, result.getMetadata().getTotalElements());
+        assertEquals(1L, result.getMetadata().getTotalPages());
+        assertTrue(result.getLink("last").orElseThrow().getHref().contains("page=0"));
+    }
+
+    @Test
+    @DisplayName("Checks that the lean page is read as a slice with its total from the count cache")
+    void testFindAllLean() {
+        var pageable = PageRequest.of(1, 4, Sort.by("firstName"));
+        when(repository.findAllSlicedBy(pageable))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(input.mockVoList().subList(4, 8)), pageable, true));
+        when(countCache.get()).thenReturn(40L);
+
+        var result = service.findAllLean(pageable);
+
+        assertEquals(4, result.getContent().size());
+        assertEquals(new LeanPageVO.PageMetadata(4, 40, 10, 1), result.getPage());
+        verify(repository, never()).findAllProjectedBy(any());
+    }
+
+    @Test
+    @DisplayName("Checks that bulk creation returns every person with its generated id and link")
+    void testCreateAll() {
+        doAnswer(invocation -> {
+            List<Person> entities = invocation.getArgument(0);
+            long id = 100;
+            for (Person entity : entities) entity.setId(id++);
+            return null;
+        }).when(bulkRepository).insertPeople(any());
+
+        var result = service.createAll(input.mockVoList().subList(0, 3));
+
+        assertEquals(List.of(100L, 101L, 102L), result.stream().map(PersonVO::getKey).toList());
+        assertEquals("First Name: 2", result.get(2).getFirstName());
+        assertTrue(result.get(2).toString().contains("links: [</api/person/v1/102>;rel=\"self\"]"));
+        verify(countCache).invalidate();
+        assertThrows(RequiredObjectIsNotNullException.class, () -> service.createAll(List.of()));
+    }
+
+    @Test
+    @DisplayName("Checks that bulk creation rejects more people than person.bulk.max-rows before inserting")
+    void testCreateAllOverTheLimit() {
+        ReflectionTestUtils.setField(service, "maxBulkRows", 2);
+        try {
+            assertThrows(InvalidBulkRequestException.class, () -> service.createAll(input.mockVoList().subList(0, 3)));
+            verify(bulkRepository, never()).insertPeople(any());
+            verify(countCache, never()).invalidate();
+        } finally {
+            ReflectionTestUtils.setField(service, "maxBulkRows", 10000);
+        }
+    }
+
+    @Test
+    @DisplayName("Checks that bulk disable runs one statement per IN-list chunk and per merged range")
+    void testDisableAll() {
+        ReflectionTestUtils.setField(service, "inListSize", 2);
+        when(repository.findExistingIds(List.of(1L, 2L))).thenReturn(List.of(1L, 2L));
+        when(repository.findExistingIds(List.of(4L))).thenReturn(List.of());
+        when(repository.findExistingIdsBetween(10L, 14L)).thenReturn(List.of(10L, 11L, 13L));
+
+        var ranges = List.of(new IdSetVO.IdRange(12L, 14L), new IdSetVO.IdRange(10L, 12L));
+        var result = service.disableAll(new IdSetVO(List.of(4L, 2L, 1L, 11L, 2L), ranges));
+
+        assertEquals(List.of(1L, 2L, 10L, 11L, 13L), result.affectedIds());
+        assertEquals(List.of(4L, 12L, 14L), result.missingIds());
+        verify(repository).disablePeople(List.of(1L, 2L));
+        verify(repository).disablePeopleBetween(10L, 14L);
+        verify(repository, never()).disablePeople(List.of());
+        verify(countCache, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName("Checks that bulk delete rejects invalid id sets and invalidates the count cache")
+    void testDeleteAll() {
+        when(repository.findExistingIds(List.of(7L))).thenReturn(List.of(7L));
+
+        var result = service.deleteAll(new IdSetVO(List.of(7L), null));
+
+        assertEquals(List.of(7L), result.affectedIds());
+        assertTrue(result.missingIds().isEmpty());
+        verify(repository).deletePeople(List.of(7L));
+        verify(countCache).invalidate();
+        assertThrows(InvalidBulkRequestException.class, () -> service.deleteAll(new IdSetVO(List.of(), null)));
+        assertThrows(InvalidBulkRequestException.class,
+                () -> service.deleteAll(new IdSetVO(null, List.of(new IdSetVO.IdRange(5L, 1L)))));
+        assertThrows(InvalidBulkRequestException.class,
+                () -> service.deleteAll(new IdSetVO(null, List.of(new IdSetVO.IdRange(Long.MIN_VALUE, Long.MAX_VALUE)))));
     }
-}
\ No newline at end of file
+}
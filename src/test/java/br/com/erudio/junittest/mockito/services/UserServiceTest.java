@@ -0,0 +1,63 @@
+package br.com.erudio.junittest.mockito.services;
+
+import br.com.erudio.model.user.User;
+import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.security.permission.PermissionRegistry;
+import br.com.erudio.services.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    private UserService service;
+
+    @Mock
+    UserRepository repository;
+
+    @Mock
+    PermissionRegistry permissionRegistry;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserService(repository);
+        ReflectionTestUtils.setField(service, "permissionRegistry", permissionRegistry);
+        ReflectionTestUtils.invokeMethod(service, "init");
+    }
+
+    @Test
+    @DisplayName("Checks that a renamed user is evicted under the name it was cached with")
+    void testEvictRenamedUser() {
+        var user = mockUser("leandro");
+        when(repository.findByUsername("leandro")).thenReturn(user);
+        when(repository.findPermissionIds(1L)).thenReturn(List.of());
+
+        assertSame(user, service.loadUserByUsername("leandro"));
+        assertSame(user, service.loadUserByUsername("leandro"));
+        verify(repository, times(1)).findByUsername("leandro");
+
+        service.evict(mockUser("flavio"));
+
+        service.loadUserByUsername("leandro");
+        verify(repository, times(2)).findByUsername("leandro");
+        verify(permissionRegistry, times(2)).resolve(any(List.class));
+    }
+
+    private User mockUser(String userName) {
+        var user = new User();
+        user.setId(1L);
+        user.setUserName(userName);
+        return user;
+    }
+}
@@ -109,5 +109,34 @@ class DozerMapperTest {
         assertEquals("Male", personVOTwelve.getGender());
     }
 
+    @Test
+    public void parseEntityListToVOListInParallelTest() {
+        DozerMapper.configureParallelism(2, null);
+        try {
+            List<PersonVO> outputList = DozerMapper.parseListObjects(inputObject.mockEntityList(), PersonVO.class);
+
+            assertEquals(14, outputList.size());
+            for (int i = 0; i < outputList.size(); i++) {
+                assertEquals(Long.valueOf(i), outputList.get(i).getKey());
+                assertEquals("First Name: " + i, outputList.get(i).getFirstName());
+            }
+        } finally {
+            DozerMapper.configureParallelism(0, null);
+        }
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void parseListInParallelReturnsAMutableListTest() {
+        DozerMapper.configureParallelism(2, null);
+        try {
+            List<PersonVO> outputList = DozerMapper.parseListObjects(inputObject.mockEntityList(), PersonVO.class);
+
+            outputList.add(new PersonVO());
+            outputList.remove(0);
+            assertEquals(14, outputList.size());
+            assertEquals(Long.valueOf(1L), outputList.get(0).getKey());
+        } finally {
+            DozerMapper.configureParallelism(0, null);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.security.ratelimit.AuthRateLimiter;
+import br.com.erudio.security.ratelimit.TokenBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimiterTest {
+
+    AuthRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        rateLimiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "capacity", 3);
+        ReflectionTestUtils.invokeMethod(rateLimiter, "init");
+    }
+
+    @Test
+    public void rejectsOnceTheBurstIsUsed() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(rateLimiter.tryAcquire("10.0.0.1", "leandro"));
+        }
+        assertFalse(rateLimiter.tryAcquire("10.0.0.1", "leandro"));
+        assertFalse(rateLimiter.tryAcquire("10.0.0.2", "leandro"));
+        assertFalse(rateLimiter.tryAcquire("10.0.0.1", "flavio"));
+        assertTrue(rateLimiter.tryAcquire("10.0.0.2", "flavio"));
+
+        assertEquals(4, rateLimiter.getAllowedCount());
+        assertEquals(3, rateLimiter.getRejectedCount());
+    }
+
+    @Test
+    public void bucketRefillsOverTime() {
+        long minute = TimeUnit.MINUTES.toNanos(1);
+        var bucket = new TokenBucket(1, 1.0 / minute, 0);
+
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(bucket.tryAcquire(minute / 2));
+        assertTrue(bucket.tryAcquire(minute));
+        assertFalse(bucket.isIdle(minute, minute));
+        assertTrue(bucket.isIdle(3 * minute, minute));
+    }
+}
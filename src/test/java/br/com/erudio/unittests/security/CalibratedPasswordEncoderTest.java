@@ -0,0 +1,43 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.security.password.CalibratedPasswordEncoder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibratedPasswordEncoderTest {
+
+    // V8__insert_into_users.sql, user Victor: 185000 iterations and no prefix
+    static final String LEGACY_HASH = "358cdd21fce469cafd030890d75ed7232e77850d8ac709315676064fb4b8bff8e1df3213477f50bc";
+
+    @Test
+    public void legacyHashesStillMatchAndAskForUpgrade() {
+        var encoder = new CalibratedPasswordEncoder(200000);
+
+        assertTrue(encoder.matches("12345678", LEGACY_HASH));
+        assertFalse(encoder.matches("admin123", LEGACY_HASH));
+        assertTrue(encoder.upgradeEncoding(LEGACY_HASH));
+    }
+
+    @Test
+    public void encodesWithIterationsInTheId() {
+        var encoder = new CalibratedPasswordEncoder(200000);
+        var encoded = encoder.encode("admin123");
+
+        assertTrue(encoded.startsWith("{pbkdf2@200000}"));
+        assertTrue(encoder.matches("admin123", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    public void matchesHashesFromOtherCalibrations() {
+        var stronger = new CalibratedPasswordEncoder(210000).encode("admin123");
+        var weaker = new CalibratedPasswordEncoder(190000).encode("admin123");
+        var encoder = new CalibratedPasswordEncoder(200000);
+
+        assertTrue(encoder.matches("admin123", stronger));
+        assertFalse(encoder.upgradeEncoding(stronger));
+        assertTrue(encoder.matches("admin123", weaker));
+        assertTrue(encoder.upgradeEncoding(weaker));
+    }
+}
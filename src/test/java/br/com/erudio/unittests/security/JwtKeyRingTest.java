@@ -0,0 +1,81 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.security.jwt.JwtKeyRing;
+import com.auth0.jwt.JWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    @TempDir
+    Path tempDir;
+
+    JwtKeyRing keyRing;
+
+    Path keysFile;
+
+    @BeforeEach
+    public void setUp() {
+        keysFile = tempDir.resolve("jwt-keys.properties");
+        keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "secretKey", "53cr37");
+        ReflectionTestUtils.setField(keyRing, "keysFile", keysFile.toString());
+    }
+
+    @Test
+    public void keepsVerifyingTokensOfThePreviousKeyAfterRotation() throws IOException {
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+        String oldToken = sign();
+
+        writeKeysFile("key.default=53cr37\nkey.2026-10=n3w-53cr37\nsigning=2026-10\n");
+        keyRing.reload();
+
+        assertEquals("2026-10", keyRing.signingKey().keyId());
+        assertNotNull(keyRing.verifier(JWT.decode(sign()).getKeyId()).verify(sign()));
+        assertNotNull(keyRing.verifier(JWT.decode(oldToken).getKeyId()).verify(oldToken));
+    }
+
+    @Test
+    public void dropsRetiredKeysAfterTheLongestTokenLifetime() throws IOException {
+        ReflectionTestUtils.setField(keyRing, "validityInMilliseconds", 0L);
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+        assertNotNull(keyRing.verifier(JwtKeyRing.DEFAULT_KEY_ID));
+
+        writeKeysFile("key.2026-10=n3w-53cr37\nsigning=2026-10\n");
+        keyRing.reload();
+
+        assertNull(keyRing.verifier(JwtKeyRing.DEFAULT_KEY_ID));
+        assertNull(keyRing.verifier(null));
+        assertNotNull(keyRing.verifier("2026-10"));
+    }
+
+    @Test
+    public void loadsKeysFromFile() throws IOException {
+        writeKeysFile("key.a=first\nkey.b=second\nsigning=b\n");
+        ReflectionTestUtils.invokeMethod(keyRing, "init");
+
+        assertEquals("b", keyRing.signingKey().keyId());
+        assertNotNull(keyRing.verifier("a"));
+        assertNotNull(keyRing.verifier(JwtKeyRing.DEFAULT_KEY_ID));
+    }
+
+    private void writeKeysFile(String content) throws IOException {
+        Files.writeString(keysFile, content);
+        // the ring reloads on a new modification time, make it differ from any earlier write
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+    }
+
+    private String sign() {
+        var signingKey = keyRing.signingKey();
+        return JWT.create().withKeyId(signingKey.keyId()).withSubject("leandro").sign(signingKey.algorithm());
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.model.permission.Permission;
+import br.com.erudio.repositories.PermissionRepository;
+import br.com.erudio.security.permission.PermissionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PermissionRegistryTest {
+
+    PermissionRegistry registry;
+
+    PermissionRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(PermissionRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                permission(1L, "ADMIN"), permission(2L, "MANAGER"), permission(3L, "COMMON_USER")));
+        registry = new PermissionRegistry();
+        ReflectionTestUtils.setField(registry, "repository", repository);
+        ReflectionTestUtils.invokeMethod(registry, "init");
+    }
+
+    @Test
+    public void sharesOneAuthoritySetPerPermissionCombination() {
+        var first = registry.resolve(List.of(1L, 2L));
+        var second = registry.resolve(List.of(2L, 1L));
+
+        assertSame(first, second);
+        assertEquals(List.of("ADMIN", "MANAGER"), first.roles());
+        assertEquals(2, first.authorities().size());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void reloadsAfterInvalidate() {
+        registry.invalidate();
+        when(repository.findAll()).thenReturn(List.of(permission(1L, "ADMIN"), permission(4L, "AUDITOR")));
+
+        assertEquals(List.of("AUDITOR"), registry.resolve(List.of(4L)).roles());
+        assertEquals(-1, registry.bitOf("UNKNOWN"));
+    }
+
+    private Permission permission(Long id, String description) {
+        var permission = new Permission();
+        permission.setId(id);
+        permission.setDescription(description);
+        return permission;
+    }
+}
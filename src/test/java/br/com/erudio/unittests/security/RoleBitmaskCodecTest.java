@@ -0,0 +1,56 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.model.permission.Permission;
+import br.com.erudio.repositories.PermissionRepository;
+import br.com.erudio.security.jwt.RoleBitmaskCodec;
+import br.com.erudio.security.permission.PermissionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoleBitmaskCodecTest {
+
+    RoleBitmaskCodec codec;
+
+    PermissionRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = mock(PermissionRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                permission(1L, "ADMIN"), permission(2L, "MANAGER"), permission(3L, "COMMON_USER")));
+        var registry = new PermissionRegistry();
+        ReflectionTestUtils.setField(registry, "repository", repository);
+        codec = new RoleBitmaskCodec();
+        ReflectionTestUtils.setField(codec, "permissionRegistry", registry);
+    }
+
+    @Test
+    public void roundTripsRoles() {
+        var encoded = codec.encode(List.of("ADMIN", "COMMON_USER"));
+
+        assertEquals("BQ", encoded);
+        assertEquals(List.of("ADMIN", "COMMON_USER"), codec.decodeRoles(encoded));
+        assertEquals(List.of("ADMIN", "COMMON_USER"),
+                codec.decodeAuthorities(encoded).stream().map(GrantedAuthority::getAuthority).toList());
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void rejectsRolesMissingFromPermissionTable() {
+        assertThrows(IllegalStateException.class, () -> codec.encode(List.of("UNKNOWN")));
+    }
+
+    private Permission permission(Long id, String description) {
+        var permission = new Permission();
+        permission.setId(id);
+        permission.setDescription(description);
+        return permission;
+    }
+}
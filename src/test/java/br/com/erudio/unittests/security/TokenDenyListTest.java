@@ -0,0 +1,70 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.security.jwt.TokenDenyList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenyListTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void deniesEachIdOnlyOnce() {
+        var denyList = newDenyList("");
+        long expiresAt = System.currentTimeMillis() + 60000;
+
+        assertFalse(denyList.isDenied("jti-1"));
+        assertTrue(denyList.deny("jti-1", expiresAt));
+        assertFalse(denyList.deny("jti-1", expiresAt));
+        assertTrue(denyList.isDenied("jti-1"));
+        assertFalse(denyList.isDenied("jti-2"));
+        assertFalse(denyList.isDenied(null));
+    }
+
+    @Test
+    public void dropsIdsOnceTheyExpire() {
+        var denyList = newDenyList("");
+        ReflectionTestUtils.setField(denyList, "tickInMilliseconds", 1L);
+        denyList.deny("jti-1", System.currentTimeMillis() + 5);
+
+        await(20);
+        denyList.advance();
+
+        assertFalse(denyList.isDenied("jti-1"));
+        assertEquals(0, denyList.size());
+    }
+
+    @Test
+    public void survivesRestartThroughSnapshot() {
+        var snapshot = tempDir.resolve("deny-list.snapshot").toString();
+        var denyList = newDenyList(snapshot);
+        denyList.deny("jti-1", System.currentTimeMillis() + 60000);
+        denyList.snapshot();
+
+        var restored = newDenyList(snapshot);
+
+        assertTrue(restored.isDenied("jti-1"));
+        assertFalse(restored.deny("jti-1", System.currentTimeMillis() + 60000));
+    }
+
+    private TokenDenyList newDenyList(String snapshotFile) {
+        var denyList = new TokenDenyList();
+        ReflectionTestUtils.setField(denyList, "snapshotFile", snapshotFile);
+        ReflectionTestUtils.invokeMethod(denyList, "init");
+        return denyList;
+    }
+
+    private void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
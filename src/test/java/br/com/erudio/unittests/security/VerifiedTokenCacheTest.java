@@ -0,0 +1,63 @@
+package br.com.erudio.unittests.security;
+
+import br.com.erudio.security.jwt.VerifiedToken;
+import br.com.erudio.security.jwt.VerifiedTokenCache;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    VerifiedTokenCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.invokeMethod(cache, "init");
+    }
+
+    @Test
+    public void returnsCachedTokenUntilExpiration() {
+        var verified = mockVerifiedToken(System.currentTimeMillis() + 60000);
+        cache.put("token", verified);
+
+        assertSame(verified, cache.get("token"));
+        assertNull(cache.get("other-token"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void ignoresAlreadyExpiredTokens() {
+        cache.put("token", mockVerifiedToken(System.currentTimeMillis() - 1000));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void invalidateSubjectRemovesEveryTokenOfTheUser() {
+        cache.put("token", mockVerifiedToken(System.currentTimeMillis() + 60000));
+        cache.put("other-token", mockVerifiedToken(System.currentTimeMillis() + 120000));
+        cache.invalidateSubject("leandro");
+
+        assertNull(cache.get("token"));
+        assertNull(cache.get("other-token"));
+    }
+
+    private VerifiedToken mockVerifiedToken(long expiresAt) {
+        var token = JWT.create()
+                .withSubject("leandro")
+                .withExpiresAt(new Date(expiresAt))
+                .sign(Algorithm.HMAC256("secret"));
+        var auth = new UsernamePasswordAuthenticationToken("leandro", "", List.of());
+        return new VerifiedToken(JWT.decode(token), auth);
+    }
+}
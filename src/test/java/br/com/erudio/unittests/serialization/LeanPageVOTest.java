@@ -0,0 +1,30 @@
+package br.com.erudio.unittests.serialization;
+
+import br.com.erudio.data.vo.v1.LeanPageVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.unittests.mapper.mocks.PersonMock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.hateoas.Link;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeanPageVOTest {
+
+    @Test
+    public void writesItemsAndPageWithoutLinks() throws Exception {
+        PersonVO person = new PersonMock().mockVO(1);
+        person.add(Link.of("/api/person/v1/1"));
+        var page = new PageImpl<>(List.of(person), PageRequest.of(2, 1), 14);
+
+        var json = new ObjectMapper().writeValueAsString(LeanPageVO.of(page));
+
+        assertEquals("{\"content\":[{\"id\":1,\"firstName\":\"First Name: 1\",\"lastName\":\"Last Name: 1\","
+                + "\"address\":\"Address: 1\",\"gender\":\"Female\",\"enabled\":null}],"
+                + "\"page\":{\"size\":1,\"totalElements\":14,\"totalPages\":14,\"number\":2}}", json);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.erudio.unittests.serialization;
+
+import br.com.erudio.data.vo.v1.PersonPagedModel;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.serialization.converter.PersonPageHalHttpMessageConverter;
+import br.com.erudio.unittests.mapper.mocks.PersonMock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonPageHalHttpMessageConverterTest {
+
+    ObjectMapper halMapper;
+    PersonPageHalHttpMessageConverter converter;
+    PagedResourcesAssembler<PersonVO> assembler;
+
+    @BeforeEach
+    public void setUp() {
+        halMapper = Jackson2ObjectMapperBuilder.json().build();
+        halMapper.registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        var json = new MappingJackson2HttpMessageConverter();
+        json.registerObjectMappersForType(RepresentationModel.class, mappers -> {
+            mappers.put(MediaTypes.HAL_JSON, halMapper);
+            mappers.put(MediaType.APPLICATION_JSON, halMapper);
+        });
+        converter = new PersonPageHalHttpMessageConverter(json, "personVOList");
+        assembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(), null);
+    }
+
+    @Test
+    public void writesTheSameBytesAsTheHalMapper() throws Exception {
+        var people = new PersonMock().mockVoList();
+        people.get(3).setEnabled(true);
+        people.get(5).setAddress("Rua \"Quinze\", 15 ç");
+        people.forEach(p -> p.add(Link.of("http://localhost:8080/api/person/v1/" + p.getKey())));
+
+        assertSameBytes(people, PageRequest.of(1, people.size()), 57,
+                Link.of("http://localhost:8080/api/person/v1?page=1&size=14&direction=asc"));
+    }
+
+    @Test
+    public void writesEmptyPagesWithoutEmbedded() throws Exception {
+        assertSameBytes(List.of(), PageRequest.of(0, 12), 0, Link.of("http://localhost:8080/api/person/v1"));
+    }
+
+    @Test
+    public void delegatesLinksItCannotWriteDirectly() throws Exception {
+        var person = new PersonMock().mockVO(1);
+        person.add(Link.of("http://localhost:8080/api/person/v1/1").withTitle("Person 1"));
+
+        assertSameBytes(List.of(person), PageRequest.of(0, 12), 1,
+                Link.of("http://localhost:8080/api/person/v1{?page,size}"));
+    }
+
+    private void assertSameBytes(List<PersonVO> people, PageRequest pageable, long total, Link self) throws Exception {
+        PagedModel<?> reference = assembler.toModel(new PageImpl<>(people, pageable, total), self);
+        var model = new PersonPagedModel(people, reference.getMetadata(), reference.getLinks());
+
+        var output = new MockHttpOutputMessage();
+        converter.write(model, MediaType.APPLICATION_JSON, output);
+
+        assertEquals(halMapper.writeValueAsString(reference), output.getBodyAsString());
+        assertEquals(MediaType.APPLICATION_JSON, output.getHeaders().getContentType());
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.erudio.unittests.serialization;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.serialization.StreamedResponse;
+import br.com.erudio.serialization.converter.StreamedResponseHttpMessageConverter;
+import br.com.erudio.serialization.converter.YamlJackson2HttpMessageConverte;
+import br.com.erudio.unittests.mapper.mocks.BookMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamedResponseHttpMessageConverterTest {
+
+    static final Type LIST_OF_BOOKS = ResolvableType.forClassWithGenerics(List.class, BookVO.class).getType();
+
+    List<HttpMessageConverter<?>> converters;
+    StreamedResponseHttpMessageConverter converter;
+    List<BookVO> books;
+
+    @BeforeEach
+    public void setUp() {
+        converters = new ArrayList<>(List.of(
+                new StringHttpMessageConverter(),
+                new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()),
+                new MappingJackson2XmlHttpMessageConverter(Jackson2ObjectMapperBuilder.xml().build()),
+                new YamlJackson2HttpMessageConverte()));
+        converter = new StreamedResponseHttpMessageConverter(converters);
+        converters.add(0, converter);
+
+        books = new BookMock().mockListVO().subList(0, 3);
+        books.forEach(b -> b.add(Link.of("/api/books/v1/" + b.getKey())));
+    }
+
+    @Test
+    public void writesTheSameBytesAsAList() throws Exception {
+        assertSameBytesAsAList(books);
+    }
+
+    @Test
+    public void writesTheSameBytesAsAnEmptyList() throws Exception {
+        assertSameBytesAsAList(List.of());
+    }
+
+    @Test
+    public void refusesMediaTypesNoConverterWrites() {
+        StreamedResponse<BookVO> response = writer -> writer.write(books.stream());
+
+        assertFalse(converter.canWrite(response.getClass(), MediaType.TEXT_PLAIN));
+        assertFalse(converter.canWrite(BookVO.class, MediaType.APPLICATION_JSON));
+    }
+
+    private void assertSameBytesAsAList(List<BookVO> books) throws Exception {
+        for (var mediaType : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML,
+                MediaType.parseMediaType("application/x-yaml"))) {
+            StreamedResponse<BookVO> response = writer -> writer.write(books.stream());
+            assertTrue(converter.canWrite(response.getClass(), mediaType));
+
+            var streamed = new MockHttpOutputMessage();
+            converter.write(response, mediaType, streamed);
+
+            // What BookController wrote when it returned List<BookVO>
+            var listed = new MockHttpOutputMessage();
+            delegate(mediaType).write(books, LIST_OF_BOOKS, mediaType, listed);
+
+            assertEquals(listed.getBodyAsString(), streamed.getBodyAsString(), mediaType.toString());
+            assertEquals(listed.getHeaders().getContentType(), streamed.getHeaders().getContentType());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private GenericHttpMessageConverter<Object> delegate(MediaType mediaType) {
+        return (GenericHttpMessageConverter<Object>) converters.stream()
+                .filter(c -> c != converter && c.canWrite(List.class, mediaType))
+                .findFirst().orElseThrow();
+    }
+}
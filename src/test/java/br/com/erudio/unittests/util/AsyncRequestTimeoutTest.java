@@ -0,0 +1,28 @@
+package br.com.erudio.unittests.util;
+
+import br.com.erudio.util.AsyncRequestTimeout;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncRequestTimeoutTest {
+
+    @Test
+    public void appliesTheTimeoutOnlyToRequestsThatSetIt() throws Exception {
+        var interceptor = new AsyncRequestTimeout();
+        var request = new MockHttpServletRequest();
+        var asyncRequest = new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncRequest.setTimeout(30000L);
+
+        interceptor.beforeConcurrentHandling(asyncRequest, () -> null);
+        assertEquals(30000L, ReflectionTestUtils.getField(asyncRequest, "timeout"));
+
+        AsyncRequestTimeout.set(request, 600000);
+        interceptor.beforeConcurrentHandling(asyncRequest, () -> null);
+        assertEquals(600000L, ReflectionTestUtils.getField(asyncRequest, "timeout"));
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.erudio.unittests.util;
+
+import br.com.erudio.controllers.BookController;
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.util.LinkFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// WebMvcLinkBuilder also attaches affordances, which are only rendered for HAL-FORMS
+class LinkFactoryTest {
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void matchesWebMvcLinkBuilderWithoutRequest() {
+        assertEquals(linkTo(methodOn(PersonController.class).findById(1L)).withSelfRel().withAffordances(List.of()),
+                LinkFactory.selfLink(PersonController.class, 1L));
+        assertEquals(linkTo(methodOn(BookController.class).findById(7L)).withSelfRel().withAffordances(List.of()),
+                LinkFactory.selfLink(BookController.class, 7L));
+        assertEquals("</api/person/v1/1>;rel=\"self\"", LinkFactory.selfLink(PersonController.class, 1L).toString());
+    }
+
+    @Test
+    public void matchesWebMvcLinkBuilderForEachBaseUri() {
+        for (String host : new String[] {"localhost", "erudio.com.br"}) {
+            var request = new MockHttpServletRequest();
+            request.setServerName(host);
+            request.setServerPort(8888);
+            request.setContextPath("/app");
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+            assertEquals(linkTo(methodOn(PersonController.class).findById(12L)).withSelfRel().withAffordances(List.of()),
+                    LinkFactory.selfLink(PersonController.class, 12L));
+            assertEquals(linkTo(methodOn(BookController.class).findById(3L)).withSelfRel().withAffordances(List.of()),
+                    LinkFactory.selfLink(BookController.class, 3L));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.erudio.unittests.util;
+
+import br.com.erudio.execeptions.InvalidCursorException;
+import br.com.erudio.util.PersonCursor;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonCursorTest {
+
+    @Test
+    public void roundTripsNamesWithSeparatorsAndAccents() {
+        for (var cursor : new PersonCursor[] {
+                PersonCursor.after("Ayrton", 42L),
+                PersonCursor.before("João: o 2º", 7L),
+                PersonCursor.after("", Long.MAX_VALUE)}) {
+            var token = cursor.encode();
+
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+            assertEquals(cursor, PersonCursor.decode(token));
+        }
+    }
+
+    @Test
+    public void emptyTokenStartsTheListing() {
+        assertNull(PersonCursor.decode(""));
+        assertNull(PersonCursor.decode(null));
+    }
+
+    @Test
+    public void rejectsTokensItDidNotProduce() {
+        for (var raw : new String[] {"x:1:Ayrton", "n:one:Ayrton", "n1:Ayrton", "n"}) {
+            var token = Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+            assertThrows(InvalidCursorException.class, () -> PersonCursor.decode(token), raw);
+        }
+        assertThrows(InvalidCursorException.class, () -> PersonCursor.decode("not base64!"));
+    }
+}